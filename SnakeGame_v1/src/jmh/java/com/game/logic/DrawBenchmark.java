@@ -0,0 +1,104 @@
+package com.game.logic;
+
+import com.game.utils.Direction;
+import com.game.utils.GameConstants;
+import com.game.utils.RenderQuality;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the snake and food draw calls alone, against an offscreen
+ * image so they run without a display.
+ * Run with: mvn -Pbench verify
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DrawBenchmark {
+    private static final int WIDTH = GameConstants.GAME_WIDTH;
+    private static final int HEIGHT = GameConstants.GAME_HEIGHT;
+    private static final int UNIT_SIZE = GameConstants.UNIT_SIZE;
+
+    // Up to 850 of the 900 cells on the default board
+    @Param({"3", "100", "450", "850"})
+    private int snakeLength;
+
+    @Param({"FULL", "FLAT", "BATCHED"})
+    private RenderQuality quality;
+
+    private GameController game;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new GameController(null, 0L, WIDTH, HEIGHT);
+        layOut(game.getSnake(), snakeLength);
+        SpecialFood specialFood = game.getSpecialFood();
+        specialFood.advance(specialFood.getCooldownRemaining(), WIDTH, HEIGHT, game.getSnake());
+        graphics = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    /**
+     * Grow a snake back and forth across the board from the top-left corner
+     * until it has the given length
+     *
+     * @param snake  Snake to lay out
+     * @param length Number of segments
+     */
+    public static void layOut(Snake snake, int length) {
+        snake.reset(0, 0, 1);
+        int cols = snake.getCols();
+        for (int i = 1; i < length; i++) {
+            int head = snake.getHeadCell();
+            int x = head % cols;
+            boolean rightward = (head / cols) % 2 == 0;
+            if (rightward ? x == cols - 1 : x == 0) {
+                snake.setDirection(Direction.DOWN);
+            } else {
+                snake.setDirection(rightward ? Direction.RIGHT : Direction.LEFT);
+            }
+            snake.move();
+        }
+    }
+
+    @Benchmark
+    public Graphics2D snakeDraw() {
+        game.getSnake().draw(graphics, UNIT_SIZE, 0, 0, WIDTH, HEIGHT, quality);
+        return graphics;
+    }
+
+    @Benchmark
+    public Graphics2D foodDraw() {
+        game.getFood().draw(graphics, UNIT_SIZE);
+        return graphics;
+    }
+
+    @Benchmark
+    public Graphics2D specialFoodDraw() {
+        game.getSpecialFood().draw(graphics, UNIT_SIZE);
+        return graphics;
+    }
+}
@@ -0,0 +1,87 @@
+package com.game.ui;
+
+import com.game.logic.DrawBenchmark;
+import com.game.logic.GameController;
+import com.game.logic.SpecialFood;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+import com.game.utils.RenderQuality;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-frame rendering benchmark: GamePanel.paintComponent against an
+ * offscreen image, with the grid, score text and the pause or game over
+ * overlays, so it runs without a display. Quality is fixed rather than
+ * adapted to the frame time.
+ * Run with: mvn -Pbench verify
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PanelRenderBenchmark {
+    private static final int WIDTH = GameConstants.GAME_WIDTH;
+    private static final int HEIGHT = GameConstants.GAME_HEIGHT;
+
+    @Param({"3", "100", "450", "850"})
+    private int snakeLength;
+
+    @Param({"true", "false"})
+    private boolean grid;
+
+    @Param({"RUNNING", "PAUSED", "GAME_OVER"})
+    private GameState state;
+
+    @Param({"FULL", "FLAT", "BATCHED"})
+    private RenderQuality quality;
+
+    private GamePanel panel;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameController game = new GameController(null, 0L, WIDTH, HEIGHT);
+        panel = new GamePanel(game);
+        // Stop the panel's own timer so nothing changes the game between frames
+        panel.cleanUp();
+        panel.setSize(WIDTH, HEIGHT);
+        panel.setGridVisible(grid);
+        panel.setRenderQuality(quality);
+
+        DrawBenchmark.layOut(game.getSnake(), snakeLength);
+        SpecialFood specialFood = game.getSpecialFood();
+        specialFood.advance(specialFood.getCooldownRemaining(), WIDTH, HEIGHT, game.getSnake());
+        game.setGameState(state);
+
+        graphics = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public Graphics2D paintComponent() {
+        panel.paintComponent(graphics);
+        return graphics;
+    }
+}
@@ -0,0 +1,20 @@
+package com.game.bot;
+
+import com.game.logic.ArenaController;
+import com.game.utils.Direction;
+
+/**
+ * A bot that steers one snake in an arena.
+ * Implementations are asked for a direction once per tick, before the
+ * arena advances all snakes together.
+ */
+public interface ArenaBot {
+    /**
+     * Choose the direction for the next tick
+     *
+     * @param arena Arena holding every snake and food item
+     * @param index Index of the snake to steer
+     * @return Direction to move in, never null
+     */
+    Direction nextDirection(ArenaController arena, int index);
+}
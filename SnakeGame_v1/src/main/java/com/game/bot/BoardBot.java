@@ -0,0 +1,18 @@
+package com.game.bot;
+
+import com.game.utils.Direction;
+
+/**
+ * A plugin bot, created by a SnakeBotProvider. Unlike SnakeBot it only
+ * sees a read-only BoardView, and BotRunner calls it on a worker thread
+ * within a time budget.
+ */
+public interface BoardBot {
+    /**
+     * Choose the direction for the next tick
+     *
+     * @param board View of the board, valid until this call returns
+     * @return Direction to move in; null or a move back onto the body keeps the current direction
+     */
+    Direction nextDirection(BoardView board);
+}
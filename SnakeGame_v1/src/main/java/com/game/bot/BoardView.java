@@ -0,0 +1,78 @@
+package com.game.bot;
+
+import com.game.utils.Direction;
+
+/**
+ * Read-only view of a single-snake board for plugin bots. Cells are packed
+ * as y * cols + x, as in Snake. Every call reads the game's own state, so
+ * a view is only valid during the nextDirection call it was passed to:
+ * once that call returns or its time budget runs out, every read throws
+ * BudgetExpiredException.
+ */
+public interface BoardView {
+    int getCols();
+
+    int getRows();
+
+    /**
+     * Get the snake's length
+     *
+     * @return Segments in the body, head included
+     */
+    int getLength();
+
+    /**
+     * Get the cell of a body segment
+     *
+     * @param index Segment index, 0 is the head and getLength() - 1 the tail
+     * @return Packed cell index
+     */
+    int getBodyCell(int index);
+
+    int getHeadCell();
+
+    /**
+     * Check whether the snake covers a cell
+     *
+     * @param cell Packed cell index
+     * @return true if a body segment is on the cell
+     */
+    boolean isOccupied(int cell);
+
+    /**
+     * Get the direction the snake moved in last; turning back onto it is ignored
+     *
+     * @return Current direction
+     */
+    Direction getDirection();
+
+    /**
+     * Get the cell one step away, wrapping around the board edges
+     *
+     * @param cell      Packed cell index
+     * @param direction Direction to step in
+     * @return Packed index of the neighbouring cell
+     */
+    int neighbour(int cell, Direction direction);
+
+    /**
+     * Get the food's cell
+     *
+     * @return Packed cell index, or -1 if there is no food (the board is full)
+     */
+    int getFoodCell();
+
+    /**
+     * Get the special food's cell
+     *
+     * @return Packed cell index, or -1 if no special food is showing
+     */
+    int getSpecialFoodCell();
+
+    /**
+     * Get how long the special food stays
+     *
+     * @return Ticks before it disappears, 0 if no special food is showing
+     */
+    int getSpecialFoodTicks();
+}
@@ -0,0 +1,195 @@
+package com.game.bot;
+
+import com.game.log.Log;
+import com.game.logic.GameController;
+import com.game.utils.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs plugin bots found through SnakeBotProvider on a bounded pool of
+ * worker threads, with a time budget per move. A move that is not ready in
+ * time, throws, or turns back onto the body keeps the snake's current
+ * direction, so a slow or broken plugin can cost a game but never stall it.
+ * A bot still working on a late move is not asked again until it finishes,
+ * and its board reads throw BudgetExpiredException from the deadline on, as
+ * the game goes on changing the board.
+ *
+ * The pool's threads are started up front and moves are handed over through
+ * the pool's fixed-size queue and thread parking, so asking a bot for a move
+ * allocates nothing on the game's thread.
+ */
+public class BotRunner implements AutoCloseable {
+    private static final Log LOG = Log.get(BotRunner.class);
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Start the worker threads
+     *
+     * @param threads Worker threads; bots beyond this many wait in the queue
+     * @param queue   Moves that may wait for a worker; later ones are refused and keep their direction
+     */
+    public BotRunner(int threads, int queue) {
+        int pool = POOLS.incrementAndGet();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                task -> {
+                    Thread thread = new Thread(task, "bot-" + pool + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, rejectedBy) -> ((TimedBot) task).refused());
+        executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Find a plugin bot on the class path
+     *
+     * @param name Name from SnakeBotProvider.getName
+     * @return The provider, or null if none has that name
+     */
+    public static SnakeBotProvider findProvider(String name) {
+        for (SnakeBotProvider provider : ServiceLoader.load(SnakeBotProvider.class)) {
+            if (provider.getName().equals(name)) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * List the plugin bots on the class path
+     *
+     * @return Provider names
+     */
+    public static List<String> providerNames() {
+        List<String> names = new ArrayList<>();
+        for (SnakeBotProvider provider : ServiceLoader.load(SnakeBotProvider.class)) {
+            names.add(provider.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Wrap a plugin bot so the game can use it like any other SnakeBot
+     *
+     * @param name         Name for log messages
+     * @param bot          Plugin bot
+     * @param budgetMillis Time allowed per move
+     * @return Bot that answers within the budget
+     */
+    public TimedBot timed(String name, BoardBot bot, long budgetMillis) {
+        return new TimedBot(name, bot, executor, TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    /**
+     * Stop the worker threads, interrupting moves still running
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A plugin bot behind a time budget. Ask it from one thread at a time.
+     */
+    public static final class TimedBot implements SnakeBot, Runnable {
+        private final String name;
+        private final BoardBot bot;
+        private final ThreadPoolExecutor executor;
+        private final long budgetNanos;
+        private final GameBoardView view = new GameBoardView();
+        // Set while a move is queued or running, cleared by the worker
+        private volatile boolean busy;
+        private volatile Direction answer;
+        private volatile Thread waiter;
+        private volatile long failures;
+        private long timeouts;
+        private long moves;
+
+        private TimedBot(String name, BoardBot bot, ThreadPoolExecutor executor, long budgetNanos) {
+            this.name = name;
+            this.bot = bot;
+            this.executor = executor;
+            this.budgetNanos = budgetNanos;
+        }
+
+        @Override
+        public Direction nextDirection(GameController game) {
+            Direction current = game.getDirection();
+            moves++;
+            if (busy) {
+                // Still on a late move; the board must not change under a fresh one
+                timeouts++;
+                return current;
+            }
+            view.open(game);
+            answer = null;
+            waiter = Thread.currentThread();
+            busy = true;
+            executor.execute(this);
+
+            long deadline = System.nanoTime() + budgetNanos;
+            while (busy) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    // The bot may still be reading; its reads fail from here on
+                    view.close();
+                    timeouts++;
+                    LOG.debug("Bot {} missed its budget on move {}", name, moves);
+                    return current;
+                }
+                LockSupport.parkNanos(this, left);
+            }
+            view.close();
+            Direction direction = answer;
+            return direction == null || direction.isOpposite(current) ? current : direction;
+        }
+
+        @Override
+        public void run() {
+            try {
+                answer = bot.nextDirection(view);
+            } catch (BudgetExpiredException e) {
+                // A late move; nextDirection has already kept the current direction
+            } catch (RuntimeException e) {
+                failures++;
+                LOG.warn("Bot {} failed: {}", name, e);
+            } finally {
+                busy = false;
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        private void refused() {
+            busy = false;
+        }
+
+        /**
+         * Get how many moves kept the current direction because the bot was too slow
+         *
+         * @return Moves over budget, and moves skipped while a late one was still running
+         */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.game.bot;
+
+/**
+ * Thrown by a BoardView read after the move's time budget ran out, when
+ * the game may already be changing the board under the bot. BotRunner
+ * expects it from late bots and drops their move quietly.
+ */
+public final class BudgetExpiredException extends RuntimeException {
+    // Thrown on every late read, so one shared instance without a stack trace
+    static final BudgetExpiredException INSTANCE = new BudgetExpiredException();
+
+    private BudgetExpiredException() {
+        super("The move's time budget has run out", null, false, false);
+    }
+}
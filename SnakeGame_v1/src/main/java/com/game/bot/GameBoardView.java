@@ -0,0 +1,140 @@
+package com.game.bot;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.utils.Direction;
+
+import java.awt.Point;
+
+/**
+ * BoardView over a live GameController. Nothing is copied: every call
+ * reads the snake's ring buffer and occupancy grid and the food positions
+ * directly, so binding and reading never allocate. Because of that the view
+ * is only open while the game waits for the move; once it is closed every
+ * read throws BudgetExpiredException instead of seeing a board the game
+ * thread is changing.
+ */
+final class GameBoardView implements BoardView {
+    private GameController game;
+    private Snake snake;
+    private int unitSize;
+    // Written by the game thread before the move is handed over, and when the budget runs out
+    private volatile boolean open;
+
+    /**
+     * Point the view at a game and open it for one move; the snake and food
+     * objects are kept across resets
+     *
+     * @param game Game to read
+     */
+    void open(GameController game) {
+        this.game = game;
+        this.snake = game.getSnake();
+        this.unitSize = game.getUnitSize();
+        open = true;
+    }
+
+    /**
+     * Fail every later read, before the game thread touches the board again
+     */
+    void close() {
+        open = false;
+    }
+
+    private Snake snake() {
+        if (!open) {
+            throw BudgetExpiredException.INSTANCE;
+        }
+        return snake;
+    }
+
+    private GameController game() {
+        if (!open) {
+            throw BudgetExpiredException.INSTANCE;
+        }
+        return game;
+    }
+
+    /**
+     * Check again after a read, so a value read while the view was being
+     * closed is never returned
+     */
+    private int checked(int value) {
+        if (!open) {
+            throw BudgetExpiredException.INSTANCE;
+        }
+        return value;
+    }
+
+    @Override
+    public int getCols() {
+        return snake().getCols();
+    }
+
+    @Override
+    public int getRows() {
+        return snake().getRows();
+    }
+
+    @Override
+    public int getLength() {
+        return checked(snake().getLength());
+    }
+
+    @Override
+    public int getBodyCell(int index) {
+        int length = checked(snake().getLength());
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Segment " + index + " of " + length);
+        }
+        return checked(snake().getCell(index));
+    }
+
+    @Override
+    public int getHeadCell() {
+        return checked(snake().getHeadCell());
+    }
+
+    @Override
+    public boolean isOccupied(int cell) {
+        boolean occupied = snake().occupies(cell);
+        checked(0);
+        return occupied;
+    }
+
+    @Override
+    public Direction getDirection() {
+        Direction direction = snake().getDirection();
+        checked(0);
+        return direction;
+    }
+
+    @Override
+    public int neighbour(int cell, Direction direction) {
+        return checked(snake().neighbour(cell, direction));
+    }
+
+    @Override
+    public int getFoodCell() {
+        return checked(cellOf(game().getFood().getPosition()));
+    }
+
+    @Override
+    public int getSpecialFoodCell() {
+        return checked(game().getSpecialFood().isVisible() ? cellOf(game().getSpecialFood().getPosition()) : -1);
+    }
+
+    @Override
+    public int getSpecialFoodTicks() {
+        long remaining = game().getSpecialFood().getRemainingTime();
+        int tickMillis = game().getTickMillis();
+        return checked((int) ((remaining + tickMillis - 1) / tickMillis));
+    }
+
+    private int cellOf(Point position) {
+        if (position == null) {
+            return -1;
+        }
+        return position.y / unitSize * snake().getCols() + position.x / unitSize;
+    }
+}
@@ -0,0 +1,73 @@
+package com.game.bot;
+
+import com.game.logic.ArenaController;
+import com.game.logic.Snake;
+import com.game.utils.Direction;
+
+/**
+ * Cheap arena bot: heads for the nearest food, never steps onto a body and
+ * avoids cells another head could also reach this tick when it has a choice.
+ * Each decision is O(food count), so large arenas stay cheap to drive.
+ * Stateless, so one instance can steer any number of snakes.
+ */
+public class GreedyArenaBot implements ArenaBot {
+    private static final Direction[] DIRECTIONS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    @Override
+    public Direction nextDirection(ArenaController arena, int index) {
+        Snake snake = arena.getSnake(index);
+        Direction current = snake.getDirection();
+        int head = snake.getHeadCell();
+
+        Direction best = current;
+        int bestScore = Integer.MAX_VALUE;
+        for (Direction direction : DIRECTIONS) {
+            if (current.isOpposite(direction)) {
+                continue;
+            }
+            int next = snake.neighbour(head, direction);
+            if (arena.isOccupied(next)) {
+                continue;
+            }
+            // A contested cell is only worth it when nothing else is free
+            int score = nearestFood(arena, next);
+            if (isContested(arena, snake, next, index)) {
+                score += arena.getCols() + arena.getRows();
+            }
+            if (score < bestScore) {
+                bestScore = score;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isContested(ArenaController arena, Snake snake, int cell, int index) {
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = snake.neighbour(cell, direction);
+            int owner = arena.getOwner(neighbour);
+            if (owner >= 0 && owner != index && arena.getSnake(owner).getHeadCell() == neighbour) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nearestFood(ArenaController arena, int cell) {
+        int cols = arena.getCols();
+        int rows = arena.getRows();
+        int x = cell % cols;
+        int y = cell / cols;
+        int nearest = Integer.MAX_VALUE;
+        for (int i = 0; i < arena.getFoodCount(); i++) {
+            int food = arena.getFoodCell(i);
+            if (food < 0) {
+                continue;
+            }
+            int dx = Math.abs(x - food % cols);
+            int dy = Math.abs(y - food / cols);
+            nearest = Math.min(nearest, Math.min(dx, cols - dx) + Math.min(dy, rows - dy));
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,69 @@
+package com.game.bot;
+
+import com.game.utils.Direction;
+
+/**
+ * Cheap plugin bot, registered as "greedy": steps towards the special food
+ * while it can still be reached in time, otherwise towards the food, and
+ * never onto the body when there is a free cell. It only reads its
+ * BoardView, so it also shows what the plugin interface gives a bot.
+ */
+public class GreedyBot implements BoardBot {
+    private static final Direction[] DIRECTIONS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    /**
+     * Registered in META-INF/services/com.game.bot.SnakeBotProvider
+     */
+    public static class Provider implements SnakeBotProvider {
+        @Override
+        public String getName() {
+            return "greedy";
+        }
+
+        @Override
+        public BoardBot create(int cols, int rows) {
+            return new GreedyBot();
+        }
+    }
+
+    @Override
+    public Direction nextDirection(BoardView board) {
+        int head = board.getHeadCell();
+        int target = board.getFoodCell();
+        int special = board.getSpecialFoodCell();
+        if (special >= 0 && distance(board, head, special) < board.getSpecialFoodTicks()) {
+            target = special;
+        }
+
+        Direction current = board.getDirection();
+        Direction best = current;
+        int bestScore = Integer.MAX_VALUE;
+        for (Direction direction : DIRECTIONS) {
+            if (current.isOpposite(direction)) {
+                continue;
+            }
+            int next = board.neighbour(head, direction);
+            // The head moves before the tail does, so the tail cell is not free either
+            if (board.isOccupied(next)) {
+                continue;
+            }
+            int score = target >= 0 ? distance(board, next, target) : 0;
+            if (score < bestScore) {
+                bestScore = score;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Steps between two cells on the wrapping board, ignoring the body
+     */
+    private static int distance(BoardView board, int from, int to) {
+        int cols = board.getCols();
+        int rows = board.getRows();
+        int dx = Math.abs(from % cols - to % cols);
+        int dy = Math.abs(from / cols - to / cols);
+        return Math.min(dx, cols - dx) + Math.min(dy, rows - dy);
+    }
+}
@@ -0,0 +1,191 @@
+package com.game.bot;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.utils.Direction;
+
+import java.awt.Point;
+
+/**
+ * Perfect-play solver that follows a precomputed Hamiltonian cycle over the
+ * board, so the snake can never trap itself and always fills every cell.
+ * While the board is still mostly empty it takes shortcuts toward the food,
+ * but only to cells that lie ahead of the head and behind the tail on the
+ * cycle, which keeps the body ordered along the cycle at all times.
+ */
+public class HamiltonianBot implements SnakeBot {
+    private static final Direction[] DIRECTIONS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    // Extra cycle distance kept free in front of the tail when cutting
+    private static final int SHORTCUT_BUFFER = 3;
+
+    private final int cols;
+    private final int rows;
+    private final int unitSize;
+    private final int cells;
+
+    // Position of each cell along the cycle, and the cell at each position
+    private final int[] order;
+    private final int[] cycle;
+
+    /**
+     * Create a solver for a board of the given size
+     *
+     * @param width    Board width in pixels
+     * @param height   Board height in pixels
+     * @param unitSize Size of one cell in pixels
+     * @throws IllegalArgumentException if both grid dimensions are odd, since
+     *                                  no Hamiltonian cycle exists then
+     */
+    public HamiltonianBot(int width, int height, int unitSize) {
+        this.cols = width / unitSize;
+        this.rows = height / unitSize;
+        this.unitSize = unitSize;
+        this.cells = cols * rows;
+        this.order = new int[cells];
+        this.cycle = new int[cells];
+
+        buildCycle();
+    }
+
+    /**
+     * Lay out the cycle: along the top row, zig-zag back down through the
+     * remaining columns, then return up the first column. Needs an even
+     * number of rows; boards with an odd row count use the transposed layout.
+     */
+    private void buildCycle() {
+        if (cols < 2 || rows < 2 || (cols % 2 != 0 && rows % 2 != 0)) {
+            throw new IllegalArgumentException(
+                    "No Hamiltonian cycle on a " + cols + "x" + rows + " grid");
+        }
+
+        boolean transpose = rows % 2 != 0;
+        int width = transpose ? rows : cols;
+        int height = transpose ? cols : rows;
+        int index = 0;
+
+        for (int x = 0; x < width; x++) {
+            index = place(index, x, 0, transpose);
+        }
+        for (int y = 1; y < height; y++) {
+            if (y % 2 == 1) {
+                for (int x = width - 1; x >= 1; x--) {
+                    index = place(index, x, y, transpose);
+                }
+            } else {
+                for (int x = 1; x < width; x++) {
+                    index = place(index, x, y, transpose);
+                }
+            }
+        }
+        for (int y = height - 1; y >= 1; y--) {
+            index = place(index, 0, y, transpose);
+        }
+    }
+
+    private int place(int index, int x, int y, boolean transpose) {
+        int cell = transpose ? x * cols + y : y * cols + x;
+        cycle[index] = cell;
+        order[cell] = index;
+        return index + 1;
+    }
+
+    @Override
+    public Direction nextDirection(GameController game) {
+        Snake snake = game.getSnake();
+        Point foodPos = game.getFood().getPosition();
+        int length = snake.getLength();
+
+        int head = snake.getHeadCell();
+        int tail = snake.getTailCell();
+        int headOrder = order[head];
+        int next = cycle[(headOrder + 1) % cells];
+
+        if (!isOrderedAlongCycle(snake, headOrder)) {
+            // A freshly reset snake may lie against the cycle; walk the cycle
+            // (stepping aside if needed) until the old segments have gone
+            Direction realign = snake.occupies(next) ? freeNeighbour(snake, head) : directionTo(snake, head, next);
+            return realign != null ? realign : snake.getDirection();
+        }
+
+        int cut = 0;
+        if (foodPos != null) {
+            int food = (foodPos.y / unitSize) * cols + foodPos.x / unitSize;
+            int distToFood = distance(headOrder, order[food]);
+            int distToTail = distance(headOrder, order[tail]);
+            int empty = cells - length - 1;
+
+            // Only cut while at least half the board is free
+            if (empty >= cells / 2) {
+                cut = distToTail - 1 - SHORTCUT_BUFFER;
+                if (distToFood < distToTail) {
+                    cut -= 1;
+                    if ((distToTail - cut) * 4 > empty) {
+                        cut -= 10;
+                    }
+                }
+                cut = Math.min(cut, distToFood);
+            }
+        }
+
+        Direction best = null;
+        int bestDist = 0;
+        if (cut > 1) {
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int cell = snake.neighbour(head, DIRECTIONS[d]);
+                if (snake.occupies(cell)) {
+                    continue;
+                }
+                int dist = distance(headOrder, order[cell]);
+                if (dist <= cut && dist > bestDist) {
+                    bestDist = dist;
+                    best = DIRECTIONS[d];
+                }
+            }
+        }
+
+        return best != null ? best : directionTo(snake, head, next);
+    }
+
+    /**
+     * Check that every segment lies further behind the head on the cycle than
+     * the one before it. Shortcuts preserve this, and it guarantees the cells
+     * ahead of the head on the cycle are vacated before they are reached.
+     */
+    private boolean isOrderedAlongCycle(Snake snake, int headOrder) {
+        int previous = 0;
+        for (int i = 1; i < snake.getLength(); i++) {
+            int behind = distance(order[snake.getCell(i)], headOrder);
+            if (behind <= previous) {
+                return false;
+            }
+            previous = behind;
+        }
+        return true;
+    }
+
+    private Direction freeNeighbour(Snake snake, int head) {
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (!snake.occupies(snake.neighbour(head, DIRECTIONS[d]))) {
+                return DIRECTIONS[d];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forward distance along the cycle from one position to another
+     */
+    private int distance(int from, int to) {
+        return to >= from ? to - from : to + cells - from;
+    }
+
+    private Direction directionTo(Snake snake, int from, int to) {
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (snake.neighbour(from, DIRECTIONS[d]) == to) {
+                return DIRECTIONS[d];
+            }
+        }
+        throw new IllegalStateException("Cycle cells " + from + " and " + to + " are not adjacent");
+    }
+}
@@ -0,0 +1,69 @@
+package com.game.bot;
+
+import com.game.logic.GameController;
+import com.game.utils.Direction;
+import com.game.utils.GameState;
+
+/**
+ * Steers a snake whose inputs take effect a fixed number of ticks after
+ * they are chosen, as in LockstepSession and RollbackSession. Asking the bot
+ * about the current board would plan for a snake that has already moved on
+ * by the time the input lands, so the planner plays the inputs still in
+ * flight on a copy of the game and asks the bot about that state instead.
+ * Food eaten during the look-ahead respawns somewhere else than it will in
+ * the real game, so the copy is only exact for the snake itself.
+ */
+public class InputPlanner {
+    private final SnakeBot bot;
+    private final GameController lookAhead;
+    // Inputs sent but not yet applied, oldest at next; null keeps going
+    private final Direction[] inFlight;
+    private int next;
+
+    /**
+     * Create a planner for one player
+     *
+     * @param bot        Bot to ask, on the look-ahead copy
+     * @param game       Player's game, for the board size
+     * @param inputDelay Ticks between choosing an input and applying it, 0 for none
+     */
+    public InputPlanner(SnakeBot bot, GameController game, int inputDelay) {
+        this.bot = bot;
+        this.lookAhead = new GameController(null, 0L, game.getBoardWidth(), game.getBoardHeight());
+        this.inFlight = new Direction[inputDelay];
+    }
+
+    /**
+     * Choose the input to send this tick; call exactly once per tick, before
+     * the session steps
+     *
+     * @param game Player's game as of this tick
+     * @return Direction to send, or null if the snake should keep going
+     */
+    public Direction nextInput(GameController game) {
+        if (inFlight.length == 0) {
+            return plan(game);
+        }
+
+        lookAhead.copyStateFrom(game);
+        for (int i = 0; i < inFlight.length; i++) {
+            Direction sent = inFlight[(next + i) % inFlight.length];
+            if (sent != null) {
+                lookAhead.setDirection(sent);
+            }
+            lookAhead.update();
+        }
+        Direction input = plan(lookAhead);
+        inFlight[next] = input;
+        next = (next + 1) % inFlight.length;
+        return input;
+    }
+
+    private Direction plan(GameController game) {
+        if (game.getGameState() != GameState.RUNNING) {
+            return null;
+        }
+        Direction direction = bot.nextDirection(game);
+        return direction != game.getDirection() ? direction : null;
+    }
+}
@@ -0,0 +1,312 @@
+package com.game.bot;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.utils.Direction;
+import com.game.utils.GameState;
+
+import java.awt.Point;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Monte Carlo tree search bot that spends a fixed time budget per tick.
+ * Several workers on a ForkJoinPool search one shared tree in parallel; each
+ * worker replays moves on its own copy of the game, and tree statistics are
+ * plain atomics, so workers never block each other.
+ * Food spawns are random, so the tree is open-loop: nodes hold statistics
+ * for a sequence of moves, not a particular board.
+ */
+public class MonteCarloBot implements SnakeBot {
+    private static final Direction[] DIRECTIONS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    private static final int MAX_TREE_DEPTH = 32;
+    private static final int ROLLOUT_DEPTH = 64;
+    private static final double EXPLORATION = 0.25;
+    private static final double FOOD_DISCOUNT = 0.9;
+    private static final double GREEDY_ROLLOUT = 0.9;
+    // Rewards are in [0, 1] and stored as fixed point so they fit an AtomicLong
+    private static final double REWARD_SCALE = 1_000_000.0;
+
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final Worker[] workers;
+
+    // Search inputs, written before each search and only read by workers
+    private volatile GameController rootGame;
+    private volatile Node root;
+    private volatile long deadline;
+    private final AtomicLong lastIterations = new AtomicLong();
+
+    /**
+     * Tree node; visits are bumped on the way down (a virtual loss that
+     * steers other workers elsewhere) and value on the way back up.
+     */
+    private static final class Node {
+        final AtomicInteger visits = new AtomicInteger();
+        final AtomicLong value = new AtomicLong();
+        final AtomicReferenceArray<Node> children = new AtomicReferenceArray<>(DIRECTIONS.length);
+    }
+
+    /**
+     * Create a bot that uses every available core
+     *
+     * @param budgetMillis Time allowed per move
+     */
+    public MonteCarloBot(long budgetMillis) {
+        this(budgetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a bot with a fixed number of search workers
+     *
+     * @param budgetMillis Time allowed per move
+     * @param parallelism  Number of workers searching in parallel
+     */
+    public MonteCarloBot(long budgetMillis, int parallelism) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.pool = new ForkJoinPool(parallelism);
+        this.workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    @Override
+    public Direction nextDirection(GameController game) {
+        Direction current = game.getDirection();
+        if (game.getGameState() != GameState.RUNNING) {
+            return current;
+        }
+
+        rootGame = game;
+        root = new Node();
+        deadline = System.nanoTime() + budgetNanos;
+
+        for (Worker worker : workers) {
+            worker.reinitialize();
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(workers);
+            }
+        });
+
+        long total = 0;
+        for (Worker worker : workers) {
+            total += worker.iterations;
+        }
+        lastIterations.set(total);
+
+        Direction best = current;
+        int bestVisits = -1;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            Node child = root.children.get(d);
+            if (child == null || current.isOpposite(DIRECTIONS[d])) {
+                continue;
+            }
+            int visits = child.visits.get();
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                best = DIRECTIONS[d];
+            }
+        }
+        rootGame = null;
+        return best;
+    }
+
+    /**
+     * Get the number of playouts run for the last move, summed over workers
+     *
+     * @return Iteration count
+     */
+    public long getLastIterations() {
+        return lastIterations.get();
+    }
+
+    /**
+     * Stop the worker pool; the bot cannot be used afterwards
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * One search worker with its own simulation copy and path buffer, both
+     * reused across iterations and moves.
+     */
+    private final class Worker extends RecursiveAction {
+        private final int index;
+        private final Random random;
+        private final Node[] path = new Node[MAX_TREE_DEPTH + 2];
+        private GameController sim;
+        private long iterations;
+
+        Worker(int index) {
+            this.index = index;
+            this.random = new Random(~index);
+        }
+
+        @Override
+        protected void compute() {
+            GameController game = rootGame;
+            if (sim == null || sim.getBoardWidth() != game.getBoardWidth()
+                    || sim.getBoardHeight() != game.getBoardHeight()) {
+                sim = new GameController(null, index, game.getBoardWidth(), game.getBoardHeight());
+            }
+            iterations = 0;
+            while (System.nanoTime() < deadline) {
+                iterate();
+                iterations++;
+            }
+        }
+
+        private void iterate() {
+            sim.copyStateFrom(rootGame);
+            int lastScore = sim.getScore();
+            int ticks = 0;
+            double foodReward = 0;
+            double discount = 1;
+
+            Node node = root;
+            int depth = 0;
+            path[depth++] = node;
+            node.visits.incrementAndGet();
+
+            // Selection and expansion: descend until a new node is added
+            boolean expanded = false;
+            while (!expanded && depth <= MAX_TREE_DEPTH && sim.getGameState() == GameState.RUNNING) {
+                Direction current = sim.getDirection();
+                int action = -1;
+                for (int d = 0; d < DIRECTIONS.length; d++) {
+                    if (!current.isOpposite(DIRECTIONS[d]) && node.children.get(d) == null) {
+                        expanded = node.children.compareAndSet(d, null, new Node());
+                        action = d;
+                        break;
+                    }
+                }
+                if (action < 0) {
+                    action = selectChild(node, current);
+                }
+
+                node = node.children.get(action);
+                node.visits.incrementAndGet();
+                path[depth++] = node;
+
+                sim.setDirection(DIRECTIONS[action]);
+                sim.update();
+                ticks++;
+                discount *= FOOD_DISCOUNT;
+                if (sim.getScore() > lastScore) {
+                    foodReward += discount;
+                    lastScore = sim.getScore();
+                }
+            }
+
+            // Playout with a cheap greedy-random policy
+            int rolloutTicks = 0;
+            while (rolloutTicks < ROLLOUT_DEPTH && sim.getGameState() == GameState.RUNNING) {
+                sim.setDirection(rolloutMove());
+                sim.update();
+                rolloutTicks++;
+                discount *= FOOD_DISCOUNT;
+                if (sim.getScore() > lastScore) {
+                    foodReward += discount;
+                    lastScore = sim.getScore();
+                }
+            }
+            ticks += rolloutTicks;
+
+            boolean alive = sim.getGameState() == GameState.RUNNING || sim.isBoardFull();
+            double survival = alive ? 1.0 : (double) ticks / (MAX_TREE_DEPTH + ROLLOUT_DEPTH);
+            double reward = 0.3 * survival + 0.7 * Math.min(1.0, foodReward);
+            long scaled = (long) (reward * REWARD_SCALE);
+
+            for (int i = 0; i < depth; i++) {
+                path[i].value.addAndGet(scaled);
+                path[i] = null;
+            }
+        }
+
+        /**
+         * Pick the legal child with the highest UCB1 score
+         */
+        private int selectChild(Node node, Direction current) {
+            double logParent = Math.log(Math.max(1, node.visits.get()));
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                Node child = node.children.get(d);
+                if (child == null || current.isOpposite(DIRECTIONS[d])) {
+                    continue;
+                }
+                int visits = child.visits.get();
+                double score;
+                if (visits == 0) {
+                    score = Double.POSITIVE_INFINITY;
+                } else {
+                    double mean = child.value.get() / REWARD_SCALE / visits;
+                    score = mean + EXPLORATION * Math.sqrt(logParent / visits);
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = d;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Usually step toward the food, otherwise take a random move; either
+         * way avoid cells the snake already covers when possible.
+         */
+        private Direction rolloutMove() {
+            Snake snake = sim.getSnake();
+            Direction current = snake.getDirection();
+            int head = snake.getHeadCell();
+            Point food = sim.getFood().getPosition();
+            boolean greedy = food != null && random.nextDouble() < GREEDY_ROLLOUT;
+
+            Direction chosen = current;
+            int bestDistance = Integer.MAX_VALUE;
+            int options = 0;
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                Direction direction = DIRECTIONS[d];
+                if (current.isOpposite(direction)) {
+                    continue;
+                }
+                int next = snake.neighbour(head, direction);
+                if (snake.occupies(next)) {
+                    continue;
+                }
+                if (greedy) {
+                    int distance = torusDistance(snake, next, food);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        chosen = direction;
+                    }
+                } else if (random.nextInt(++options) == 0) {
+                    // Reservoir sampling over the safe moves
+                    chosen = direction;
+                }
+            }
+            return chosen;
+        }
+
+        private int torusDistance(Snake snake, int cell, Point food) {
+            int cols = snake.getCols();
+            int rows = snake.getRows();
+            int unitSize = sim.getUnitSize();
+            int dx = Math.abs(cell % cols - food.x / unitSize);
+            int dy = Math.abs(cell / cols - food.y / unitSize);
+            return Math.min(dx, cols - dx) + Math.min(dy, rows - dy);
+        }
+    }
+}
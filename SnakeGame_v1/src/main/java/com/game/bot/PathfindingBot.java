@@ -0,0 +1,180 @@
+package com.game.bot;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.utils.Direction;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Autopilot that walks the shortest path to the food on the wrap-around
+ * board, and only commits to a move when the area left behind it is large
+ * enough to hold the whole snake.
+ * All search buffers are allocated once in the constructor and reused, so a
+ * decision produces no garbage regardless of board size.
+ */
+public class PathfindingBot implements SnakeBot {
+    private static final Direction[] DIRECTIONS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    private final int cols;
+    private final int unitSize;
+
+    // Cell was reached by the current search when visited[cell] == visitStamp
+    private final int[] visited;
+    // Index into DIRECTIONS of the first move that reached the cell
+    private final byte[] firstMove;
+    private final int[] queue;
+    private int visitStamp;
+    private Snake snake;
+
+    /**
+     * Create a bot for a board of the given size
+     *
+     * @param width    Board width in pixels
+     * @param height   Board height in pixels
+     * @param unitSize Size of one cell in pixels
+     */
+    public PathfindingBot(int width, int height, int unitSize) {
+        this.cols = width / unitSize;
+        this.unitSize = unitSize;
+
+        int cells = cols * (height / unitSize);
+        this.visited = new int[cells];
+        this.firstMove = new byte[cells];
+        this.queue = new int[cells];
+    }
+
+    @Override
+    public Direction nextDirection(GameController game) {
+        snake = game.getSnake();
+        Direction current = snake.getDirection();
+        Point foodPos = game.getFood().getPosition();
+
+        // The tail is still in place when the head moves, so it blocks the next step
+        int head = snake.getHeadCell();
+        int tail = snake.getTailCell();
+        int length = snake.getLength();
+
+        int food = foodPos != null ? (foodPos.y / unitSize) * cols + foodPos.x / unitSize : -1;
+        int move = food >= 0 ? searchFood(head, food, current) : -1;
+
+        if (move >= 0) {
+            int next = snake.neighbour(head, DIRECTIONS[move]);
+            // Eating keeps the tail; otherwise the tail cell frees up after the move
+            boolean eats = next == food;
+            if (floodFill(next, eats ? -1 : tail, length) >= length) {
+                return DIRECTIONS[move];
+            }
+        }
+
+        return safestMove(head, tail, length, current);
+    }
+
+    /**
+     * Breadth-first search from the head to the food.
+     *
+     * @return Index of the first move on a shortest path, or -1 if unreachable
+     */
+    private int searchFood(int head, int food, Direction current) {
+        int stamp = nextVisitStamp();
+        int qHead = 0;
+        int qTail = 0;
+        visited[head] = stamp;
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (current.isOpposite(DIRECTIONS[d])) {
+                continue;
+            }
+            int next = snake.neighbour(head, DIRECTIONS[d]);
+            if (snake.occupies(next) || visited[next] == stamp) {
+                continue;
+            }
+            if (next == food) {
+                return d;
+            }
+            visited[next] = stamp;
+            firstMove[next] = (byte) d;
+            queue[qTail++] = next;
+        }
+
+        while (qHead < qTail) {
+            int cell = queue[qHead++];
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int next = snake.neighbour(cell, DIRECTIONS[d]);
+                if (snake.occupies(next) || visited[next] == stamp) {
+                    continue;
+                }
+                if (next == food) {
+                    return firstMove[cell];
+                }
+                visited[next] = stamp;
+                firstMove[next] = firstMove[cell];
+                queue[qTail++] = next;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pick the legal move that leaves the most room, used when the food is
+     * unreachable or the shortest path would trap the snake.
+     */
+    private Direction safestMove(int head, int tail, int length, Direction current) {
+        Direction best = current;
+        int bestArea = -1;
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (current.isOpposite(DIRECTIONS[d])) {
+                continue;
+            }
+            int next = snake.neighbour(head, DIRECTIONS[d]);
+            if (snake.occupies(next)) {
+                continue;
+            }
+            int area = floodFill(next, tail, length);
+            if (area > bestArea) {
+                bestArea = area;
+                best = DIRECTIONS[d];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Count the free cells reachable from start, stopping early once limit is
+     * reached. The freed cell (the old tail) is treated as empty.
+     */
+    private int floodFill(int start, int freed, int limit) {
+        int stamp = nextVisitStamp();
+        int qHead = 0;
+        int qTail = 0;
+        visited[start] = stamp;
+        queue[qTail++] = start;
+
+        while (qHead < qTail && qTail < limit) {
+            int cell = queue[qHead++];
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int next = snake.neighbour(cell, DIRECTIONS[d]);
+                if (visited[next] == stamp) {
+                    continue;
+                }
+                if (snake.occupies(next) && next != freed) {
+                    continue;
+                }
+                visited[next] = stamp;
+                queue[qTail++] = next;
+            }
+        }
+        return qTail;
+    }
+
+    private int nextVisitStamp() {
+        visitStamp++;
+        if (visitStamp == 0) {
+            Arrays.fill(visited, 0);
+            visitStamp = 1;
+        }
+        return visitStamp;
+    }
+}
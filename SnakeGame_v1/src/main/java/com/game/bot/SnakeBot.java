@@ -0,0 +1,19 @@
+package com.game.bot;
+
+import com.game.logic.GameController;
+import com.game.utils.Direction;
+
+/**
+ * A bot that steers the snake instead of the keyboard.
+ * Implementations are asked for a direction once per tick, before the
+ * controller advances the game.
+ */
+public interface SnakeBot {
+    /**
+     * Choose the direction for the next tick
+     *
+     * @param game Controller holding the current snake and food
+     * @return Direction to move in, never null
+     */
+    Direction nextDirection(GameController game);
+}
@@ -0,0 +1,24 @@
+package com.game.bot;
+
+/**
+ * Service provider interface for plugin bots, found with ServiceLoader.
+ * Implementations need a public no-argument constructor and a line with
+ * their class name in META-INF/services/com.game.bot.SnakeBotProvider.
+ */
+public interface SnakeBotProvider {
+    /**
+     * Get the name the bot is chosen by, e.g. with --bot
+     *
+     * @return Bot name, unique among providers
+     */
+    String getName();
+
+    /**
+     * Create a bot for one board; each game driver gets its own
+     *
+     * @param cols Board width in cells
+     * @param rows Board height in cells
+     * @return New bot
+     */
+    BoardBot create(int cols, int rows);
+}
@@ -1,5 +1,10 @@
 package com.game.data;
 
+import com.game.log.Log;
+import com.game.metrics.FlightEvents;
+import com.game.metrics.LoadPlayersEvent;
+import com.game.metrics.SavePlayersEvent;
+
 import java.io.*;
 import java.util.HashMap;
 import java.util.Map;
@@ -12,7 +17,9 @@ import java.util.Map;
  * password highScore
  */
 public class PlayerData {
+    private static final Log LOG = Log.get(PlayerData.class);
     private static final String USER_FILE = "players.txt";
+    private final String userFile;
     private Map<String, Player> players;
     private Player currentPlayer;
 
@@ -52,20 +59,32 @@ public class PlayerData {
     }
 
     public PlayerData() {
+        this(USER_FILE);
+    }
+
+    /**
+     * Load player data from a file other than players.txt
+     *
+     * @param userFile Path of the player file, which is created on the first save
+     */
+    public PlayerData(String userFile) {
+        this.userFile = userFile;
         players = new HashMap<>();
         loadPlayers();
     }
 
     private void loadPlayers() {
-        File file = new File(USER_FILE);
+        File file = new File(userFile);
         if (!file.exists()) {
-            System.out.println("No player exists. Creating new file.");
+            LOG.info("No player exists. Creating new file.");
             return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(USER_FILE))) {
+        LoadPlayersEvent event = FlightEvents.isRecording() ? LoadPlayersEvent.start() : null;
+        int count = 0;
+        boolean succeeded = false;
+        try (BufferedReader br = new BufferedReader(new FileReader(userFile))) {
             String line;
-            int count = 0;
 
             while ((line = br.readLine()) != null) {
                 line = line.trim();
@@ -94,15 +113,21 @@ public class PlayerData {
                 }
             }
 
-            System.out.println("Successfully load " + count + " players");
+            LOG.info("Successfully load {} players", count);
+            succeeded = true;
 
         } catch (IOException e) {
-            System.err.println("Loading player data failed: " + e.getMessage());
+            LOG.error("Loading player data failed: {}", e.getMessage());
+        }
+        if (event != null) {
+            event.complete(count, file.length(), succeeded);
         }
     }
 
     public void savePlayers() {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(USER_FILE))) {
+        SavePlayersEvent event = FlightEvents.isRecording() ? SavePlayersEvent.start() : null;
+        boolean succeeded = false;
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(userFile))) {
             bw.write("# Player data");
             bw.newLine();
             bw.write("# Format: username password highScore");
@@ -115,10 +140,14 @@ public class PlayerData {
                 bw.newLine();
             }
 
-            System.out.println("Player data saved.");
+            LOG.info("Player data saved.");
+            succeeded = true;
 
         } catch (IOException e) {
-            System.err.println("Saving player data failed: " + e.getMessage());
+            LOG.error("Saving player data failed: {}", e.getMessage());
+        }
+        if (event != null) {
+            event.complete(players.size(), new File(userFile).length(), succeeded);
         }
     }
 
@@ -134,7 +163,7 @@ public class PlayerData {
         Player player = players.get(username);
         if (player != null && player.password.equals(password)) {
             currentPlayer = player;
-            System.out.println("Player login: " + username);
+            LOG.info("Player login: {}", username);
             return true;
         }
         return false;
@@ -173,7 +202,7 @@ public class PlayerData {
 
         savePlayers();
 
-        System.out.println("New player login: " + username);
+        LOG.info("New player login: {}", username);
         return true;
     }
 
@@ -183,7 +212,7 @@ public class PlayerData {
      */
     public void logout() {
         if (currentPlayer != null) {
-            System.out.println("Player logout: " + currentPlayer.username);
+            LOG.info("Player logout: {}", currentPlayer.username);
         }
         currentPlayer = null;
     }
@@ -192,7 +221,7 @@ public class PlayerData {
         if (currentPlayer != null && score > currentPlayer.highScore) {
             currentPlayer.highScore = score;
             savePlayers();
-            System.out.println("New Highscore Recorded: " + currentPlayer.username + " = " + score);
+            LOG.info("New Highscore Recorded: {} = {}", currentPlayer.username, score);
         }
     }
 
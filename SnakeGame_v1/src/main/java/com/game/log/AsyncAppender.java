@@ -0,0 +1,178 @@
+package com.game.log;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring of log entries written to the console by one daemon thread.
+ * Any thread may append: a slot is claimed with a single compare-and-set
+ * and filled in place, so appending never blocks and never allocates.
+ * When the ring is full the message is dropped and counted instead of
+ * making the game wait; the count is reported with the next message written.
+ *
+ * INFO and DEBUG go to System.out, WARN and ERROR to System.err, formatted as
+ * "HH:mm:ss.SSS LEVEL [thread] Logger - message".
+ */
+final class AsyncAppender {
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    // How long the writer sleeps when the ring is empty, unless woken earlier
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    private static final class Entry {
+        long timeMillis;
+        LogLevel level;
+        String logger;
+        String thread;
+        String template;
+        int argCount;
+        Object arg1;
+        Object arg2;
+    }
+
+    private final Entry[] entries = new Entry[CAPACITY];
+    // Slot i is free for the producer at position p when sequences[i] == p,
+    // and holds a published entry for the writer when it is p + 1
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head;
+    private volatile boolean writerIdle;
+
+    private final Thread writer;
+    private final StringBuilder line = new StringBuilder(256);
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+    private final Date date = new Date();
+
+    AsyncAppender() {
+        for (int i = 0; i < CAPACITY; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+        writer = new Thread(this::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        // Write whatever is still queued when the game exits
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "log-flush"));
+    }
+
+    /**
+     * Queue a message; returns at once even if the console is slow
+     */
+    void append(LogLevel level, String logger, String template, int argCount, Object arg1, Object arg2) {
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) (position & MASK);
+            long available = sequences.get(slot) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                // The writer has not freed this slot yet: the ring is full
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+
+        Entry entry = entries[slot];
+        entry.timeMillis = System.currentTimeMillis();
+        entry.level = level;
+        entry.logger = logger;
+        entry.thread = Thread.currentThread().getName();
+        entry.template = template;
+        entry.argCount = argCount;
+        entry.arg1 = arg1;
+        entry.arg2 = arg2;
+        sequences.set(slot, position + 1);
+
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            if (drain() == 0) {
+                writerIdle = true;
+                // Check again so an entry published just before the flag was set is not missed
+                if (!hasEntry()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+    }
+
+    private boolean hasEntry() {
+        return sequences.get((int) (head & MASK)) == head + 1;
+    }
+
+    /**
+     * Write every published entry; used by the writer thread and by flushes
+     *
+     * @return Number of entries written
+     */
+    synchronized int drain() {
+        int written = 0;
+        boolean wroteOut = false;
+        boolean wroteErr = false;
+        while (hasEntry()) {
+            int slot = (int) (head & MASK);
+            Entry entry = entries[slot];
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                System.err.println("[log] " + lost + " messages dropped, the log ring was full");
+            }
+            format(entry);
+            PrintStream stream = entry.level.compareTo(LogLevel.WARN) >= 0 ? System.err : System.out;
+            stream.append(line).append(System.lineSeparator());
+            wroteErr |= stream == System.err;
+            wroteOut |= stream == System.out;
+
+            // Drop references before handing the slot back to producers
+            entry.template = null;
+            entry.arg1 = null;
+            entry.arg2 = null;
+            sequences.set(slot, head + CAPACITY);
+            head++;
+            written++;
+        }
+        if (wroteOut) {
+            System.out.flush();
+        }
+        if (wroteErr) {
+            System.err.flush();
+        }
+        return written;
+    }
+
+    private void format(Entry entry) {
+        line.setLength(0);
+        date.setTime(entry.timeMillis);
+        line.append(timeFormat.format(date)).append(' ');
+        line.append(entry.level.name());
+        for (int i = entry.level.name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(entry.thread).append("] ").append(entry.logger).append(" - ");
+
+        // Fill "{}" placeholders in order; extra placeholders stay as they are
+        String template = entry.template;
+        int argIndex = 0;
+        int start = 0;
+        int mark;
+        while (argIndex < entry.argCount && (mark = template.indexOf("{}", start)) >= 0) {
+            line.append(template, start, mark).append(argIndex == 0 ? entry.arg1 : entry.arg2);
+            start = mark + 2;
+            argIndex++;
+        }
+        line.append(template, start, template.length());
+    }
+}
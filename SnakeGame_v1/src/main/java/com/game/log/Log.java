@@ -0,0 +1,143 @@
+package com.game.log;
+
+import java.util.function.Supplier;
+
+/**
+ * Small logger with levels and lazy messages. Messages below the current
+ * level cost one volatile read. Enabled messages are handed to a shared
+ * AsyncAppender together with their arguments; the "{}" placeholders are
+ * only filled in on the appender thread, so callers never format strings
+ * or wait for console I/O.
+ *
+ * The level defaults to INFO and can be set with -Dsnake.log.level=DEBUG
+ * (or WARN, ERROR, OFF) or setLevel.
+ *
+ * Usage:
+ *   private static final Log LOG = Log.get(GamePanel.class);
+ *   LOG.debug("Grid toggled to: {}", showGrid);
+ */
+public final class Log {
+    private static final AsyncAppender APPENDER = new AsyncAppender();
+    private static volatile LogLevel level = parseLevel(System.getProperty("snake.log.level"));
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get a logger named after a class
+     *
+     * @param owner Class that logs
+     * @return Logger using the class's simple name
+     */
+    public static Log get(Class<?> owner) {
+        return new Log(owner.getSimpleName());
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Wait until every message logged so far has been written
+     */
+    public static void flush() {
+        APPENDER.drain();
+    }
+
+    /**
+     * Check if messages of a level would be written, to guard expensive arguments
+     *
+     * @param messageLevel Level to check
+     * @return true if that level is enabled
+     */
+    public boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != LogLevel.OFF;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message, 0, null, null);
+    }
+
+    public void debug(String template, Object arg) {
+        log(LogLevel.DEBUG, template, 1, arg, null);
+    }
+
+    public void debug(String template, Object arg1, Object arg2) {
+        log(LogLevel.DEBUG, template, 2, arg1, arg2);
+    }
+
+    /**
+     * Log a debug message built only if debug logging is enabled
+     *
+     * @param message Builds the message; called on the caller's thread
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get(), 0, null, null);
+        }
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message, 0, null, null);
+    }
+
+    public void info(String template, Object arg) {
+        log(LogLevel.INFO, template, 1, arg, null);
+    }
+
+    public void info(String template, Object arg1, Object arg2) {
+        log(LogLevel.INFO, template, 2, arg1, arg2);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message, 0, null, null);
+    }
+
+    public void warn(String template, Object arg) {
+        log(LogLevel.WARN, template, 1, arg, null);
+    }
+
+    public void warn(String template, Object arg1, Object arg2) {
+        log(LogLevel.WARN, template, 2, arg1, arg2);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message, 0, null, null);
+    }
+
+    public void error(String template, Object arg) {
+        log(LogLevel.ERROR, template, 1, arg, null);
+    }
+
+    public void error(String template, Object arg1, Object arg2) {
+        log(LogLevel.ERROR, template, 2, arg1, arg2);
+    }
+
+    private void log(LogLevel messageLevel, String template, int argCount, Object arg1, Object arg2) {
+        if (isEnabled(messageLevel)) {
+            APPENDER.append(messageLevel, name, template, argCount, arg1, arg2);
+        }
+    }
+
+    private static LogLevel parseLevel(String value) {
+        if (value != null) {
+            for (LogLevel candidate : LogLevel.values()) {
+                if (candidate.name().equalsIgnoreCase(value.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        return LogLevel.INFO;
+    }
+}
@@ -0,0 +1,12 @@
+package com.game.log;
+
+/**
+ * Log levels from most to least detailed
+ */
+public enum LogLevel {
+  DEBUG,
+  INFO,
+  WARN,
+  ERROR,
+  OFF
+}
@@ -0,0 +1,381 @@
+package com.game.logic;
+
+import com.game.utils.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Game logic for an arena where several snakes share one board.
+ * Every body cell is counted in one shared occupancy grid stamped with its
+ * owner, so a head landing on any body is found with a single lookup, and
+ * heads meeting on the same cell are found through a small hash of the
+ * next head cells. A tick therefore costs O(snakes), not O(total length).
+ *
+ * As in the single player game, a tail still blocks its cell on the tick it
+ * moves away. Snakes that die are removed from the board; the game is over
+ * when at most one snake is left (or none, with a single snake).
+ */
+public class ArenaController {
+    public static final int INITIAL_LENGTH = GameConstants.INITIAL_SNAKE_LENGTH;
+
+    private static final int NO_CELL = -1;
+
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int cols;
+    private final int rows;
+    private final Random random;
+
+    private final Snake[] snakes;
+    private final boolean[] alive;
+    private final int[] scores;
+    private int aliveCount;
+
+    private final Food[] foods;
+    private final int[] foodCells;
+
+    // Every live body segment, stamped with owner index + 1
+    private final OccupancyGrid board;
+    // Every food cell, stamped with food index + 1
+    private final OccupancyGrid foodGrid;
+
+    // Per-tick scratch, sized once for the number of snakes
+    private final int[] nextHeads;
+    private final boolean[] dying;
+    private final int[] headKeys;
+    private final int[] headCounts;
+
+    private GameState gameState;
+    private long ticks;
+
+    /**
+     * Create an arena and place all snakes and food
+     *
+     * @param width      Board width in pixels, a multiple of the unit size
+     * @param height     Board height in pixels, a multiple of the unit size
+     * @param snakeCount Number of snakes, humans and bots together
+     * @param foodCount  Number of food items on the board at once
+     * @param seed       Seed for food placement
+     */
+    public ArenaController(int width, int height, int snakeCount, int foodCount, long seed) {
+        if (snakeCount < 1 || foodCount < 1) {
+            throw new IllegalArgumentException("An arena needs at least one snake and one food");
+        }
+        this.boardWidth = width;
+        this.boardHeight = height;
+        this.cols = width / GameConstants.UNIT_SIZE;
+        this.rows = height / GameConstants.UNIT_SIZE;
+        if (spawnSlots() < snakeCount) {
+            throw new IllegalArgumentException("A " + cols + "x" + rows + " board has room for "
+                    + spawnSlots() + " snakes, not " + snakeCount);
+        }
+        this.random = new Random(seed);
+        this.board = new OccupancyGrid(cols, rows);
+        this.foodGrid = new OccupancyGrid(cols, rows);
+
+        this.snakes = new Snake[snakeCount];
+        this.alive = new boolean[snakeCount];
+        this.scores = new int[snakeCount];
+        for (int i = 0; i < snakeCount; i++) {
+            snakes[i] = new Snake(0, 0, GameConstants.UNIT_SIZE, INITIAL_LENGTH, width, height);
+            snakes[i].setColor(UITheme.createArenaSnakeColor(i));
+        }
+
+        this.foods = new Food[foodCount];
+        this.foodCells = new int[foodCount];
+        for (int i = 0; i < foodCount; i++) {
+            foods[i] = new Food(GameConstants.UNIT_SIZE, random);
+        }
+
+        this.nextHeads = new int[snakeCount];
+        this.dying = new boolean[snakeCount];
+        int tableSize = Integer.highestOneBit(Math.max(4, snakeCount) * 2 - 1) << 1;
+        this.headKeys = new int[tableSize];
+        this.headCounts = new int[tableSize];
+
+        reset();
+    }
+
+    /**
+     * Put every snake back on its start slot and respawn all food
+     */
+    public void reset() {
+        board.clear();
+        foodGrid.clear();
+
+        int perRow = cols / (INITIAL_LENGTH + 1);
+        int slots = spawnSlots();
+        for (int i = 0; i < snakes.length; i++) {
+            // Spread snakes evenly over the slots, each slot row two rows apart;
+            // odd slot rows are shifted so heads are never stacked vertically
+            int slot = (int) ((long) i * slots / snakes.length);
+            int y = (slot / perRow) * 2;
+            int x = (slot % perRow) * (INITIAL_LENGTH + 1) + INITIAL_LENGTH - 1
+                    + (slot / perRow % 2) * ((INITIAL_LENGTH + 1) / 2);
+            Snake snake = snakes[i];
+            snake.reset(x * GameConstants.UNIT_SIZE, y * GameConstants.UNIT_SIZE, INITIAL_LENGTH);
+            for (int s = snake.getLength() - 1; s >= 0; s--) {
+                board.increment(snake.getCell(s), i + 1);
+            }
+            alive[i] = true;
+            scores[i] = 0;
+        }
+        aliveCount = snakes.length;
+
+        Arrays.fill(foodCells, NO_CELL);
+        for (int i = 0; i < foods.length; i++) {
+            respawnFood(i);
+        }
+
+        ticks = 0;
+        gameState = GameState.RUNNING;
+    }
+
+    /**
+     * Advance every live snake by one cell and resolve collisions.
+     * Heads meeting on one cell kill all snakes involved; a head entering
+     * any body, including its own, kills that snake.
+     */
+    public void update() {
+        if (gameState != GameState.RUNNING) {
+            return;
+        }
+
+        // Work out every next head before anything moves
+        Arrays.fill(headKeys, NO_CELL);
+        for (int i = 0; i < snakes.length; i++) {
+            if (alive[i]) {
+                Snake snake = snakes[i];
+                nextHeads[i] = snake.neighbour(snake.getHeadCell(), snake.getDirection());
+                countHead(nextHeads[i]);
+            }
+        }
+
+        for (int i = 0; i < snakes.length; i++) {
+            dying[i] = alive[i] && (headCount(nextHeads[i]) > 1 || board.get(nextHeads[i]) > 0);
+        }
+
+        for (int i = 0; i < snakes.length; i++) {
+            if (dying[i]) {
+                kill(i);
+            }
+        }
+
+        for (int i = 0; i < snakes.length; i++) {
+            if (!alive[i]) {
+                continue;
+            }
+            Snake snake = snakes[i];
+            int head = nextHeads[i];
+            snake.move();
+            board.increment(head, i + 1);
+
+            int food = foodGrid.get(head) > 0 ? foodGrid.getStampAt(head % cols, head / cols) - 1 : -1;
+            if (food >= 0) {
+                scores[i] += foods[food].getScore();
+                respawnFood(food);
+            } else {
+                board.decrement(snake.getTailCell());
+                snake.removeTail();
+            }
+        }
+
+        for (int i = 0; i < foods.length; i++) {
+            if (foodCells[i] == NO_CELL) {
+                respawnFood(i);
+            }
+        }
+
+        ticks++;
+        if (aliveCount <= (snakes.length > 1 ? 1 : 0)) {
+            gameState = GameState.GAME_OVER;
+        }
+    }
+
+    public void togglePause() {
+        if (gameState == GameState.RUNNING) {
+            gameState = GameState.PAUSED;
+        } else if (gameState == GameState.PAUSED) {
+            gameState = GameState.RUNNING;
+        }
+    }
+
+    private void kill(int index) {
+        Snake snake = snakes[index];
+        for (int s = 0; s < snake.getLength(); s++) {
+            board.decrement(snake.getCell(s));
+        }
+        alive[index] = false;
+        aliveCount--;
+    }
+
+    private void respawnFood(int index) {
+        if (foodCells[index] != NO_CELL) {
+            foodGrid.decrement(foodCells[index]);
+        }
+        Food food = foods[index];
+        // Never stack food: a cell holds one food's stamp, so a second one could not be eaten
+        for (int attempt = 0; attempt < 10; attempt++) {
+            food.generate(boardWidth, boardHeight, board);
+            if (foodGrid.get(cellOf(food)) == 0) {
+                place(index, cellOf(food));
+                return;
+            }
+        }
+        for (int cell = 0; cell < cols * rows; cell++) {
+            if (board.get(cell) == 0 && foodGrid.get(cell) == 0) {
+                food.placeAt((cell % cols) * GameConstants.UNIT_SIZE, (cell / cols) * GameConstants.UNIT_SIZE);
+                place(index, cell);
+                return;
+            }
+        }
+        // No free cell; the food stays off the board until one frees up
+        food.setPosition(null);
+        foodCells[index] = NO_CELL;
+    }
+
+    private void place(int index, int cell) {
+        foodCells[index] = cell;
+        foodGrid.increment(cell, index + 1);
+    }
+
+    private int cellOf(Food food) {
+        return (food.getPosition().y / GameConstants.UNIT_SIZE) * cols
+                + food.getPosition().x / GameConstants.UNIT_SIZE;
+    }
+
+    private int spawnSlots() {
+        return (cols / (INITIAL_LENGTH + 1)) * (rows / 2);
+    }
+
+    private void countHead(int cell) {
+        int mask = headKeys.length - 1;
+        int slot = mix(cell) & mask;
+        while (headKeys[slot] != NO_CELL && headKeys[slot] != cell) {
+            slot = (slot + 1) & mask;
+        }
+        if (headKeys[slot] == NO_CELL) {
+            headKeys[slot] = cell;
+            headCounts[slot] = 0;
+        }
+        headCounts[slot]++;
+    }
+
+    private int headCount(int cell) {
+        int mask = headKeys.length - 1;
+        int slot = mix(cell) & mask;
+        while (headKeys[slot] != NO_CELL) {
+            if (headKeys[slot] == cell) {
+                return headCounts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    private static int mix(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Getters and Setters
+
+    /**
+     * Steer one snake; reversing onto its own body is ignored
+     *
+     * @param index     Snake index
+     * @param direction New direction
+     */
+    public void setDirection(int index, Direction direction) {
+        if (alive[index] && gameState == GameState.RUNNING) {
+            snakes[index].setDirection(direction);
+        }
+    }
+
+    public Snake getSnake(int index) {
+        return snakes[index];
+    }
+
+    public int getSnakeCount() {
+        return snakes.length;
+    }
+
+    public boolean isAlive(int index) {
+        return alive[index];
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    public Food getFood(int index) {
+        return foods[index];
+    }
+
+    /**
+     * Get the cell of a food item
+     *
+     * @param index Food index
+     * @return Packed cell index (y * cols + x), or -1 while the board has no free cell for it
+     */
+    public int getFoodCell(int index) {
+        return foodCells[index];
+    }
+
+    public int getFoodCount() {
+        return foods.length;
+    }
+
+    /**
+     * Check if any live snake covers a cell
+     *
+     * @param cell Packed cell index (y * cols + x)
+     * @return true if the cell is part of a body
+     */
+    public boolean isOccupied(int cell) {
+        return board.get(cell) > 0;
+    }
+
+    /**
+     * Get the snake covering a cell
+     *
+     * @param cell Packed cell index (y * cols + x)
+     * @return Snake index, or -1 if the cell is free
+     */
+    public int getOwner(int cell) {
+        return board.get(cell) > 0 ? board.getStampAt(cell % cols, cell / cols) - 1 : -1;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    public int getUnitSize() {
+        return GameConstants.UNIT_SIZE;
+    }
+}
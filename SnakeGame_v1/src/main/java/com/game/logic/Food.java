@@ -13,11 +13,24 @@ import com.game.utils.UITheme;
 public class Food {
     private Random random;
     private Point position;
+    // Position object kept while the food is off the board, so placing it again does not allocate
+    private Point spare;
     private int unitSize;
     private int FOOD_SCORE = 10;
 
     public Food(int unitSize) {
-        this.random = new Random();
+        this(unitSize, new Random());
+    }
+
+    /**
+     * Create food whose positions are drawn from the given random source,
+     * so a seeded source gives a reproducible sequence of spawns
+     * 
+     * @param unitSize Size of one cell in pixels
+     * @param random   Source of food positions
+     */
+    public Food(int unitSize, Random random) {
+        this.random = random;
         this.unitSize = unitSize;
     }
 
@@ -52,6 +65,74 @@ public class Food {
         position = new Point(0, 0);
     }
 
+    /**
+     * Place the food on a random cell not covered by the snake.
+     * Uses the snake's occupancy grid, so each probe is O(1), and reuses the
+     * current position object instead of allocating a new one.
+     * 
+     * @param width  Board width in pixels
+     * @param height Board height in pixels
+     * @param snake  Snake whose cells must be avoided
+     */
+    public void generate(int width, int height, Snake snake) {
+        generate(width, height, snake.getOccupancy());
+    }
+
+    /**
+     * Place the food on a random free cell of an occupancy grid, such as the
+     * shared grid of an arena
+     * 
+     * @param width    Board width in pixels
+     * @param height   Board height in pixels
+     * @param occupied Grid whose occupied cells must be avoided
+     */
+    public void generate(int width, int height, OccupancyGrid occupied) {
+        int maxX = width / unitSize;
+        int maxY = height / unitSize;
+
+        for (int attempt = 0; attempt < 100; attempt++) {
+            int x = random.nextInt(maxX);
+            int y = random.nextInt(maxY);
+            if (occupied.getAt(x, y) == 0) {
+                placeAt(x * unitSize, y * unitSize);
+                return;
+            }
+        }
+
+        for (int y = 0; y < maxY; y++) {
+            for (int x = 0; x < maxX; x++) {
+                if (occupied.getAt(x, y) == 0) {
+                    placeAt(x * unitSize, y * unitSize);
+                    return;
+                }
+            }
+        }
+
+        placeAt(0, 0);
+    }
+
+    void placeAt(int x, int y) {
+        if (position == null) {
+            position = spare != null ? spare : new Point();
+            spare = null;
+        }
+        position.setLocation(x, y);
+    }
+
+    /**
+     * Make this food an exact copy of another food's position.
+     * The random source is not shared, so copies diverge on the next spawn.
+     * 
+     * @param other Food to copy
+     */
+    public void copyFrom(Food other) {
+        if (other.position == null) {
+            position = null;
+        } else {
+            placeAt(other.position.x, other.position.y);
+        }
+    }
+
     public void draw(Graphics g, int unitSize) {
         if (position == null)
             return;
@@ -77,6 +158,17 @@ public class Food {
         return position != null && position.equals(snakeHead);
     }
 
+    /**
+     * Check if the snake's head is on the food without building a Point
+     * 
+     * @param snake Snake to check
+     * @return true if the head cell matches the food position
+     */
+    public boolean isEaten(Snake snake) {
+        return position != null
+                && snake.getHeadCell() == (position.y / unitSize) * snake.getCols() + position.x / unitSize;
+    }
+
     public boolean isSpecial() {
         return false;
     }
@@ -86,6 +178,9 @@ public class Food {
     }
 
     public void setPosition(Point position) {
+        if (position == null && this.position != null) {
+            spare = this.position;
+        }
         this.position = position;
     }
 
@@ -14,10 +14,20 @@ public class GameController {
     // Game core entities
     private Snake snake;
     private Food food;
+    private SpecialFood specialFood;
     private PlayerData playerData;
     private int score;
     private int localHighScore;
     private GameState gameState;
+    private boolean boardFull;
+    private final GameRandom random;
+
+    // Board size in pixels, and game time covered by one update
+    private final int boardWidth;
+    private final int boardHeight;
+    private int tickMillis = DEFAULT_TICK_MILLIS;
+
+    public static final int DEFAULT_TICK_MILLIS = 200;
 
     // Listeners for game state/score/high score changes
     private List<GameStateListener> listeners;
@@ -54,7 +64,53 @@ public class GameController {
      * @param playerData Player's persistent data object
      */
     public GameController(PlayerData playerData) {
+        this(playerData, new GameRandom());
+    }
+
+    /**
+     * Constructor - initialize game on a board of the given size
+     * 
+     * @param playerData Player's persistent data object
+     * @param width      Board width in pixels, a multiple of the unit size
+     * @param height     Board height in pixels, a multiple of the unit size
+     */
+    public GameController(PlayerData playerData, int width, int height) {
+        this(playerData, new GameRandom(), width, height);
+    }
+
+    /**
+     * Constructor - initialize a reproducible game whose food placement is
+     * driven by the given seed
+     * 
+     * @param playerData Player's persistent data object
+     * @param seed       Seed for food placement
+     */
+    public GameController(PlayerData playerData, long seed) {
+        this(playerData, new GameRandom(seed), GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT);
+    }
+
+    /**
+     * Constructor - initialize a reproducible game on a board of the given size
+     * 
+     * @param playerData Player's persistent data object
+     * @param seed       Seed for food placement
+     * @param width      Board width in pixels, a multiple of the unit size
+     * @param height     Board height in pixels, a multiple of the unit size
+     */
+    public GameController(PlayerData playerData, long seed, int width, int height) {
+        this(playerData, new GameRandom(seed), width, height);
+    }
+
+    private GameController(PlayerData playerData, GameRandom random) {
+        this(playerData, random, GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT);
+    }
+
+    private GameController(PlayerData playerData, GameRandom random, int width, int height) {
         this.playerData = playerData;
+        this.random = random;
+        this.boardWidth = width;
+        this.boardHeight = height;
+        this.specialFood = new SpecialFood(GameConstants.UNIT_SIZE, random);
         this.localHighScore = 0;
         this.listeners = new ArrayList<>();
         resetGame(); // Initialize game state on creation
@@ -84,8 +140,8 @@ public class GameController {
      * @param newState New game state
      */
     private void notifyGameStateChanged(GameState newState) {
-        for (GameStateListener listener : listeners) {
-            listener.onGameStateChanged(newState);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onGameStateChanged(newState);
         }
     }
 
@@ -95,8 +151,9 @@ public class GameController {
      * @param newScore Updated score
      */
     private void notifyScoreChanged(int newScore) {
-        for (GameStateListener listener : listeners) {
-            listener.onScoreChanged(newScore);
+        // Indexed loop; an iterator would allocate on every tick that scores
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onScoreChanged(newScore);
         }
     }
 
@@ -106,8 +163,8 @@ public class GameController {
      * @param newHighScore New high score
      */
     private void notifyHighScoreChanged(int newHighScore) {
-        for (GameStateListener listener : listeners) {
-            listener.onHighScoreChanged(newHighScore);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onHighScoreChanged(newHighScore);
         }
     }
 
@@ -115,16 +172,24 @@ public class GameController {
      * Reset game to initial state (new snake, food, score)
      */
     public void resetGame() {
-        int startX = GameConstants.GAME_WIDTH / 2;
-        int startY = GameConstants.GAME_HEIGHT / 2;
-
-        // Initialize snake at center of game area
-        snake = new Snake(startX, startY, GameConstants.UNIT_SIZE, GameConstants.INITIAL_SNAKE_LENGTH);
-        food = new Food(GameConstants.UNIT_SIZE);
+        int startX = boardWidth / 2;
+        int startY = boardHeight / 2;
+
+        // Initialize snake at center of game area; the same snake and food
+        // are reused across games so snapshots taken before a reset stay valid
+        if (snake == null) {
+            snake = new Snake(startX, startY, GameConstants.UNIT_SIZE, GameConstants.INITIAL_SNAKE_LENGTH,
+                    boardWidth, boardHeight);
+            food = new Food(GameConstants.UNIT_SIZE, random);
+        } else {
+            snake.reset(startX, startY, GameConstants.INITIAL_SNAKE_LENGTH);
+        }
         // Generate food at random position (avoid snake body)
-        food.generate(GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT, snake.getBody());
+        food.generate(boardWidth, boardHeight, snake);
+        specialFood.reset();
 
         score = 0;
+        boardFull = false;
         setGameState(GameState.RUNNING);
     }
 
@@ -136,9 +201,7 @@ public class GameController {
             return; // Skip update if game not running
         }
 
-        snake.move(); // Move snake in current direction
-        // Make snake wrap around screen edges
-        snake.wrapAround(GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT);
+        snake.move(); // Move snake in current direction, wrapping around screen edges
 
         // Check if snake hits its own body (game over)
         if (snake.checkSelfCollision()) {
@@ -147,12 +210,145 @@ public class GameController {
         }
 
         // Check if snake ate food
-        if (food.isEaten(snake.getHead())) {
-            addScore(10); // Add 10 points for eating food
-            food.generate(GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT, snake.getBody()); // Spawn new food
+        if (food.isEaten(snake)) {
+            addScore(GameConstants.FOOD_SCORE_POINTS);
+            if (snake.getLength() >= getCellCount()) {
+                // Snake covers every cell, nothing left to spawn
+                food.setPosition(null);
+                specialFood.reset();
+                boardFull = true;
+                gameOver();
+                return;
+            }
+            food.generate(boardWidth, boardHeight, snake); // Spawn new food
         } else {
             snake.removeTail(); // Remove tail if no food eaten (snake moves forward)
         }
+
+        // Special food gives bonus points but does not grow the snake
+        if (specialFood.isVisible() && specialFood.isEaten(snake)) {
+            addScore(specialFood.getScore());
+            specialFood.disappear();
+        }
+        specialFood.advance(tickMillis, boardWidth, boardHeight, snake);
+    }
+
+    /**
+     * Copy the snake, food, score and state of another game into this one.
+     * Listeners, player data and the food random source are not copied, so
+     * this controller can be stepped as an independent simulation.
+     * 
+     * @param other Game to copy
+     */
+    public void copyStateFrom(GameController other) {
+        snake.copyFrom(other.snake);
+        food.copyFrom(other.food);
+        specialFood.copyFrom(other.specialFood);
+        tickMillis = other.tickMillis;
+        score = other.score;
+        gameState = other.gameState;
+        boardFull = other.boardFull;
+    }
+
+    /**
+     * Record the current state in a preallocated snapshot.
+     * Only scalars are stored; the body is recovered from the snake's own
+     * history on restore, so saving is O(1).
+     * 
+     * @param snapshot Snapshot to overwrite
+     */
+    public void saveSnapshot(GameSnapshot snapshot) {
+        snapshot.headSerial = snake.getHeadSerial();
+        snapshot.length = snake.getLength();
+        snapshot.direction = snake.getDirection();
+        snapshot.bodyHash = snake.getBodyHash();
+        snapshot.foodCell = cellOf(food);
+        snapshot.specialFoodCell = cellOf(specialFood);
+        snapshot.specialFoodVisible = specialFood.isVisible();
+        snapshot.specialFoodRemaining = specialFood.getRemainingTime();
+        snapshot.specialFoodCooldown = specialFood.getCooldownRemaining();
+        snapshot.randomState = random.getState();
+        snapshot.score = score;
+        snapshot.gameState = gameState;
+        snapshot.boardFull = boardFull;
+    }
+
+    /**
+     * Return to a snapshot taken on the current timeline within the kept
+     * history (Snake.HISTORY ticks unless keepHistory asked for more).
+     * Costs O(ticks undone); listeners hear about score and state changes.
+     * 
+     * @param snapshot Snapshot to restore
+     */
+    public void restoreSnapshot(GameSnapshot snapshot) {
+        int oldScore = score;
+        GameState oldState = gameState;
+
+        snake.restore(snapshot.headSerial, snapshot.length, snapshot.direction, snapshot.bodyHash);
+        placeAtCell(food, snapshot.foodCell);
+        placeAtCell(specialFood, snapshot.specialFoodCell);
+        specialFood.restoreClocks(snapshot.specialFoodVisible, snapshot.specialFoodRemaining,
+                snapshot.specialFoodCooldown);
+        random.setState(snapshot.randomState);
+        score = snapshot.score;
+        gameState = snapshot.gameState;
+        boardFull = snapshot.boardFull;
+
+        if (score != oldScore) {
+            notifyScoreChanged(score);
+        }
+        if (gameState != oldState) {
+            notifyGameStateChanged(gameState);
+        }
+    }
+
+    /**
+     * Make snapshots at least the given number of ticks old restorable
+     * 
+     * @param ticks Ticks of history to keep
+     */
+    public void keepHistory(int ticks) {
+        snake.keepHistory(ticks);
+    }
+
+    private void placeAtCell(Food target, int cell) {
+        if (cell < 0) {
+            target.setPosition(null);
+        } else {
+            target.placeAt((cell % snake.getCols()) * GameConstants.UNIT_SIZE,
+                    (cell / snake.getCols()) * GameConstants.UNIT_SIZE);
+        }
+    }
+
+    /**
+     * Hash everything that decides how the game continues: body, head,
+     * direction, food, special food clocks, score and state. Two games with
+     * the same seed fed the same inputs have the same hash on every tick,
+     * so peers can compare hashes to detect a desync cheaply.
+     * The body part is maintained incrementally by the snake, so this is O(1).
+     * 
+     * @return 64-bit state hash
+     */
+    public long getStateHash() {
+        long hash = snake.getBodyHash();
+        hash ^= StateHash.key(StateHash.HEAD_SALT, snake.getHeadCell());
+        hash ^= StateHash.key(StateHash.FOOD_SALT, cellOf(food));
+        if (specialFood.isVisible()) {
+            hash ^= StateHash.key(StateHash.SPECIAL_FOOD_SALT, cellOf(specialFood));
+        }
+        long scalars = StateHash.mix(score * 31L + snake.getDirection().ordinal());
+        scalars = StateHash.mix(scalars + gameState.ordinal() * 31L + snake.getLength());
+        scalars = StateHash.mix(scalars + specialFood.getRemainingTime());
+        scalars = StateHash.mix(scalars + specialFood.getCooldownRemaining());
+        return hash ^ StateHash.key(StateHash.SCALAR_SALT, scalars);
+    }
+
+    private int cellOf(Food food) {
+        if (food.getPosition() == null) {
+            return -1;
+        }
+        return (food.getPosition().y / GameConstants.UNIT_SIZE) * snake.getCols()
+                + food.getPosition().x / GameConstants.UNIT_SIZE;
     }
 
     /**
@@ -200,6 +396,24 @@ public class GameController {
         return localHighScore;
     }
 
+    /**
+     * Check if the last game ended because the snake filled the whole board
+     * 
+     * @return True if every cell is covered by the snake
+     */
+    public boolean isBoardFull() {
+        return boardFull;
+    }
+
+    /**
+     * Get the number of cells on the board
+     * 
+     * @return Board width times height in cells
+     */
+    public int getCellCount() {
+        return (boardWidth / GameConstants.UNIT_SIZE) * (boardHeight / GameConstants.UNIT_SIZE);
+    }
+
     /**
      * Check if current score is a new record
      * 
@@ -220,6 +434,35 @@ public class GameController {
         return food;
     }
 
+    /** Get the special (bonus) food entity */
+    public SpecialFood getSpecialFood() {
+        return specialFood;
+    }
+
+    /** Get board width in pixels */
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    /** Get board height in pixels */
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    /** Get game time (ms) covered by one update */
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Set game time covered by one update; drives special food timing
+     * 
+     * @param tickMillis Milliseconds per update, normally the game timer delay
+     */
+    public void setTickMillis(int tickMillis) {
+        this.tickMillis = tickMillis;
+    }
+
     /** Get current game score */
     public int getScore() {
         return score;
@@ -0,0 +1,56 @@
+package com.game.logic;
+
+import java.util.Random;
+
+/**
+ * Random source whose whole state is one long that can be read and put
+ * back, so game snapshots can rewind food spawns too.
+ * Uses the same generator as java.util.Random, so a seed produces exactly
+ * the same sequence as before. Not thread-safe; each game owns its own.
+ */
+public class GameRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Set by setSeed, which Random's constructor calls
+    private long state;
+
+    public GameRandom() {
+        this(System.nanoTime() ^ 0x2545F4914F6CDD1DL);
+    }
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Get the generator state
+     *
+     * @return Value that setState accepts to resume from this point
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Resume from a state returned by getState
+     *
+     * @param state Generator state
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
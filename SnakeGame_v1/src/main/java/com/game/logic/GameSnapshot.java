@@ -0,0 +1,35 @@
+package com.game.logic;
+
+import com.game.utils.Direction;
+import com.game.utils.GameState;
+
+/**
+ * Compact record of one game state: a few scalars for the snake, food
+ * cells, special food clocks, score and the random generator.
+ * Meant to be preallocated and overwritten, for example in a SnapshotRing.
+ */
+public class GameSnapshot {
+    long tick = -1;
+    int headSerial;
+    int length;
+    Direction direction;
+    long bodyHash;
+    int foodCell;
+    int specialFoodCell;
+    boolean specialFoodVisible;
+    long specialFoodRemaining;
+    long specialFoodCooldown;
+    long randomState;
+    int score;
+    GameState gameState;
+    boolean boardFull;
+
+    /**
+     * Get the tick this snapshot was saved for
+     *
+     * @return Tick number, or -1 if never saved
+     */
+    public long getTick() {
+        return tick;
+    }
+}
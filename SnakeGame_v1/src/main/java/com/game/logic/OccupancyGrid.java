@@ -0,0 +1,217 @@
+package com.game.logic;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Per-cell occupancy counters for a board of any size, each with an int
+ * stamp recorded by the last occupant (for example when it arrived).
+ * Cells are grouped into square chunks that are only allocated while
+ * something occupies them, so memory follows the occupied part of the board
+ * rather than its area. Released chunks are kept in a small pool, so a snake
+ * moving back and forth across a chunk border does not allocate.
+ * The chunks double as a spatial index: empty chunks can be skipped whole.
+ */
+public class OccupancyGrid {
+    private static final int CHUNK_SHIFT = 6;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int SPARE_CHUNKS = 16;
+
+    private final int cols;
+    private final int rows;
+    private final int chunkCols;
+    private final int chunkRows;
+    private final byte[][] chunks;
+    private final int[][] stampChunks;
+    // Sum of the counters in each chunk; the chunk is released at zero
+    private final int[] chunkCounts;
+    private final ArrayDeque<byte[]> spare = new ArrayDeque<>(SPARE_CHUNKS);
+    private final ArrayDeque<int[]> spareStamps = new ArrayDeque<>(SPARE_CHUNKS);
+    private int allocatedChunks;
+
+    /**
+     * Create an empty grid
+     *
+     * @param cols Board width in cells
+     * @param rows Board height in cells
+     */
+    public OccupancyGrid(int cols, int rows) {
+        if ((long) cols * rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board of " + cols + "x" + rows + " cells is too large");
+        }
+        this.cols = cols;
+        this.rows = rows;
+        this.chunkCols = (cols + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunkRows = (rows + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunks = new byte[chunkCols * chunkRows][];
+        this.stampChunks = new int[chunks.length][];
+        this.chunkCounts = new int[chunks.length];
+    }
+
+    /**
+     * Get the counter of a cell
+     *
+     * @param cell Packed cell index (y * cols + x)
+     * @return Number of occupants, 0 if free
+     */
+    public int get(int cell) {
+        int x = cell % cols;
+        int y = cell / cols;
+        byte[] chunk = chunks[chunkIndex(x, y)];
+        return chunk == null ? 0 : chunk[offset(x, y)];
+    }
+
+    /**
+     * Get the counter of a cell by its coordinates
+     *
+     * @param x Column
+     * @param y Row
+     * @return Number of occupants, 0 if free
+     */
+    public int getAt(int x, int y) {
+        byte[] chunk = chunks[chunkIndex(x, y)];
+        return chunk == null ? 0 : chunk[offset(x, y)];
+    }
+
+    /**
+     * Get the stamp left by the last occupant of a cell
+     *
+     * @param x Column
+     * @param y Row
+     * @return Stamp, or 0 if the cell's chunk is empty
+     */
+    public int getStampAt(int x, int y) {
+        int[] stamps = stampChunks[chunkIndex(x, y)];
+        return stamps == null ? 0 : stamps[offset(x, y)];
+    }
+
+    public void increment(int cell) {
+        increment(cell, 0);
+    }
+
+    /**
+     * Add an occupant to a cell and record its stamp
+     *
+     * @param cell  Packed cell index (y * cols + x)
+     * @param stamp Value returned by getStampAt until the next increment
+     */
+    public void increment(int cell, int stamp) {
+        int x = cell % cols;
+        int y = cell / cols;
+        int index = chunkIndex(x, y);
+        byte[] chunk = chunks[index];
+        if (chunk == null) {
+            acquireChunk(index);
+            chunk = chunks[index];
+        }
+        int offset = offset(x, y);
+        chunk[offset]++;
+        stampChunks[index][offset] = stamp;
+        chunkCounts[index]++;
+    }
+
+    public void decrement(int cell) {
+        int x = cell % cols;
+        int y = cell / cols;
+        int index = chunkIndex(x, y);
+        byte[] chunk = chunks[index];
+        if (chunk == null) {
+            return;
+        }
+        chunk[offset(x, y)]--;
+        if (--chunkCounts[index] == 0) {
+            releaseChunk(index);
+        }
+    }
+
+    /**
+     * Release every chunk, leaving all cells free
+     */
+    public void clear() {
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null) {
+                releaseChunk(i);
+            }
+        }
+    }
+
+    /**
+     * Make this grid an exact copy of another grid of the same size.
+     * Only chunks occupied in either grid are touched.
+     *
+     * @param other Grid to copy
+     */
+    public void copyFrom(OccupancyGrid other) {
+        if (other.cols != cols || other.rows != rows) {
+            throw new IllegalArgumentException("Cannot copy a grid of a different size");
+        }
+        for (int i = 0; i < chunks.length; i++) {
+            byte[] source = other.chunks[i];
+            if (source == null) {
+                if (chunks[i] != null) {
+                    releaseChunk(i);
+                }
+                continue;
+            }
+            if (chunks[i] == null) {
+                acquireChunk(i);
+            }
+            System.arraycopy(source, 0, chunks[i], 0, source.length);
+            System.arraycopy(other.stampChunks[i], 0, stampChunks[i], 0, source.length);
+            chunkCounts[i] = other.chunkCounts[i];
+        }
+    }
+
+    /**
+     * Check if anything occupies a chunk
+     *
+     * @param chunkX Chunk column, x / CHUNK_SIZE
+     * @param chunkY Chunk row, y / CHUNK_SIZE
+     * @return true if at least one cell in the chunk is occupied
+     */
+    public boolean isChunkOccupied(int chunkX, int chunkY) {
+        return chunkX >= 0 && chunkY >= 0 && chunkX < chunkCols && chunkY < chunkRows
+                && chunks[chunkY * chunkCols + chunkX] != null;
+    }
+
+    /**
+     * Get the number of chunks currently backed by memory
+     *
+     * @return Allocated chunk count
+     */
+    public int getAllocatedChunks() {
+        return allocatedChunks;
+    }
+
+    private void acquireChunk(int index) {
+        allocatedChunks++;
+        byte[] chunk = spare.pollFirst();
+        int[] stamps = spareStamps.pollFirst();
+        chunks[index] = chunk != null ? chunk : new byte[CHUNK_SIZE * CHUNK_SIZE];
+        stampChunks[index] = stamps != null ? stamps : new int[CHUNK_SIZE * CHUNK_SIZE];
+    }
+
+    private void releaseChunk(int index) {
+        byte[] chunk = chunks[index];
+        int[] stamps = stampChunks[index];
+        chunks[index] = null;
+        stampChunks[index] = null;
+        chunkCounts[index] = 0;
+        allocatedChunks--;
+        if (spare.size() < SPARE_CHUNKS) {
+            // Stamps are only read for occupied cells, so they need no clearing
+            Arrays.fill(chunk, (byte) 0);
+            spare.addFirst(chunk);
+            spareStamps.addFirst(stamps);
+        }
+    }
+
+    private int chunkIndex(int x, int y) {
+        return (y >> CHUNK_SHIFT) * chunkCols + (x >> CHUNK_SHIFT);
+    }
+
+    private static int offset(int x, int y) {
+        return ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+    }
+}
@@ -0,0 +1,81 @@
+package com.game.logic;
+
+/**
+ * Recent history of a single-player game that can be stepped back one tick
+ * at a time. Each recorded tick is a preallocated snapshot of a few scalars;
+ * the snake keeps its own recent cells, so stepping back only removes the
+ * head and puts the old tail back. Recording and rewinding never allocate.
+ *
+ * Playing on after stepping back starts a new timeline and drops the ticks
+ * that were rewound.
+ */
+public class RewindHistory {
+    private final GameController game;
+    private final SnapshotRing snapshots;
+    private final int capacity;
+
+    // Tick of the state the game is in now, and how many ticks lie before it
+    private long tick;
+    private int available;
+
+    /**
+     * Create a history for a game, starting from its current state
+     *
+     * @param game  Game to record
+     * @param ticks Number of ticks that can be stepped back
+     */
+    public RewindHistory(GameController game, int ticks) {
+        this.game = game;
+        this.capacity = ticks;
+        this.snapshots = new SnapshotRing(ticks + 1);
+        game.keepHistory(ticks);
+        clear();
+    }
+
+    /**
+     * Forget every recorded tick; the game's current state becomes the start
+     */
+    public void clear() {
+        available = 0;
+        snapshots.save(tick, game);
+    }
+
+    /**
+     * Record the game's state after it has been updated by one tick
+     */
+    public void record() {
+        tick++;
+        snapshots.save(tick, game);
+        if (available < capacity) {
+            available++;
+        }
+    }
+
+    /**
+     * Put the game back to its state one tick earlier
+     *
+     * @return false if there is no earlier tick left
+     */
+    public boolean stepBack() {
+        if (available == 0) {
+            return false;
+        }
+        tick--;
+        available--;
+        snapshots.restore(tick, game);
+        return true;
+    }
+
+    /**
+     * Get the number of ticks that can still be stepped back
+     *
+     * @return Available ticks
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
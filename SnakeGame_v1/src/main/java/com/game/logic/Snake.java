@@ -1,157 +1,669 @@
 package com.game.logic;
 
 import com.game.utils.Direction;
+import com.game.utils.GameConstants;
+import com.game.utils.RenderQuality;
 import com.game.utils.UITheme;
 
 import java.awt.*;
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Snake body stored as packed cell indices (y * cols + x) in a ring buffer,
+ * head first, together with a per-cell occupancy count.
+ * Moving, growing, collision checks and lookups are O(1) and allocation
+ * free, and a whole snake can be copied with a couple of array copies.
+ * The ring grows with the snake and occupancy is chunked, so memory follows
+ * the snake's length rather than the board area.
+ * Cells stay in the ring for HISTORY moves (or more, see keepHistory)
+ * after the tail leaves them, so an earlier state on the same timeline can
+ * be restored from a handful of scalars (see restore) without saving the body.
+ * Pixel coordinates are still used at the API boundary via getBody/getHead.
+ */
 public class Snake {
-    private LinkedList<Point> body;
+    private static final int INITIAL_CAPACITY = 256;
+    // Power of two, twice the few hundred body shades UITheme can produce
+    private static final int BAND_COLOR_SLOTS = 1024;
+    /** Number of recent moves that restore can undo by default */
+    public static final int HISTORY = 64;
+
+    private final int cols;
+    private final int rows;
+    private final int unitSize;
+
+    // ring[-serial & (ring.length - 1)] is the cell the head entered with
+    // that serial, so segment i is at serial headSerial - i; the length of
+    // the ring is a power of two with room for the body plus the history
+    private int[] ring;
+    private int length;
+    // Counts head moves; each cell is stamped with the value current when the
+    // head entered it, so headSerial - stamp is that segment's index
+    private int headSerial;
+    // XOR of the keys of every segment's cell, kept up to date on each move
+    private long bodyHash;
+    // Moves kept in the ring after the tail leaves them
+    private int history = HISTORY;
+    // Number of segments on each cell; more than one means a collision
+    private final OccupancyGrid occupancy;
+
     private Direction direction;
-    private int unitSize;
+    // Head colour; null keeps the default theme colours
+    private Color color;
+    // Body band colours by rgb, open addressing; created on first draw.
+    // Bands step through the same shades frame after frame
+    private int[] bandRgbs;
+    private Color[] bandColors;
+    private int bandColorCount;
+    private final List<Point> bodyView = new BodyView();
 
     public Snake(int startX, int startY, int unitSize, int initialLength) {
+        this(startX, startY, unitSize, initialLength, GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT);
+    }
+
+    /**
+     * Create a snake on a board of the given size
+     *
+     * @param startX        Head x position in pixels
+     * @param startY        Head y position in pixels
+     * @param unitSize      Size of one cell in pixels
+     * @param initialLength Number of segments, laid out to the left of the head
+     * @param width         Board width in pixels
+     * @param height        Board height in pixels
+     */
+    public Snake(int startX, int startY, int unitSize, int initialLength, int width, int height) {
         this.unitSize = unitSize;
-        this.direction = Direction.RIGHT;
-        this.body = new LinkedList<>();
+        this.cols = width / unitSize;
+        this.rows = height / unitSize;
+        this.occupancy = new OccupancyGrid(cols, rows);
+        this.ring = new int[INITIAL_CAPACITY];
 
-        for (int i = 0; i < initialLength; i++) {
-            body.add(new Point(startX - i * unitSize, startY));
-        }
+        reset(startX, startY, initialLength);
     }
 
+    /**
+     * Advance the head one cell in the current direction, wrapping around the
+     * board edges. The tail is left in place; call removeTail unless growing.
+     */
     public void move() {
-        Point head = body.getFirst();
+        addHead(neighbour(getHeadCell(), direction));
+    }
+
+    /**
+     * Get the cell next to another one, wrapping around the board edges
+     *
+     * @param cell      Packed cell index (y * cols + x)
+     * @param direction Direction to step in
+     * @return Packed index of the neighbouring cell
+     */
+    public int neighbour(int cell, Direction direction) {
+        int x = cell % cols;
+        int y = cell / cols;
 
-        Point newHead = new Point(head);
         switch (direction) {
             case UP:
-                newHead.y -= unitSize;
+                y = y == 0 ? rows - 1 : y - 1;
                 break;
             case DOWN:
-                newHead.y += unitSize;
+                y = y == rows - 1 ? 0 : y + 1;
                 break;
             case LEFT:
-                newHead.x -= unitSize;
+                x = x == 0 ? cols - 1 : x - 1;
                 break;
             case RIGHT:
-                newHead.x += unitSize;
+                x = x == cols - 1 ? 0 : x + 1;
                 break;
         }
-
-        body.addFirst(newHead);
+        return y * cols + x;
     }
 
     public void grow() {
     }
 
     public void removeTail() {
-        if (body.size() > 0) {
-            body.removeLast();
+        if (length > 0) {
+            int tail = getCell(length - 1);
+            occupancy.decrement(tail);
+            bodyHash ^= StateHash.key(StateHash.BODY_SALT, tail);
+            length--;
+        }
+    }
+
+    private void addHead(int cell) {
+        // Heads overwrite the oldest history, so keep room for two windows:
+        // the moves being undone and the tails they popped
+        if (length + 1 + 2 * history > ring.length) {
+            ensureCapacity(length + 1 + 2 * history);
+        }
+        ring[-(++headSerial) & (ring.length - 1)] = cell;
+        occupancy.increment(cell, headSerial);
+        bodyHash ^= StateHash.key(StateHash.BODY_SALT, cell);
+        length++;
+    }
+
+    /**
+     * Grow the ring to a power of two of at least the given size, moving
+     * every serial it holds, history included, to its slot in the new ring
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ring.length) {
+            return;
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        int[] grown = new int[size];
+        for (int serial = headSerial - ring.length + 1; serial <= headSerial; serial++) {
+            grown[-serial & (size - 1)] = ring[-serial & (ring.length - 1)];
         }
+        ring = grown;
     }
 
     public boolean checkSelfCollision() {
-        if (body.size() < 2)
+        return length >= 2 && occupancy.get(getHeadCell()) > 1;
+    }
+
+    public boolean contains(Point point) {
+        if (point == null || point.x < 0 || point.y < 0) {
             return false;
+        }
+        int x = point.x / unitSize;
+        int y = point.y / unitSize;
+        return x < cols && y < rows && occupancy.get(y * cols + x) > 0;
+    }
 
-        Point head = body.getFirst();
-        for (int i = 1; i < body.size(); i++) {
-            if (head.equals(body.get(i))) {
-                return true;
-            }
+    /**
+     * Check if any segment lies on the given cell
+     *
+     * @param cell Packed cell index (y * cols + x)
+     * @return true if the cell is covered by the snake
+     */
+    public boolean occupies(int cell) {
+        return occupancy.get(cell) > 0;
+    }
+
+    /**
+     * Keep at least the given number of moves restorable; never shrinks
+     *
+     * @param moves Moves that restore must be able to undo
+     */
+    void keepHistory(int moves) {
+        if (moves > history) {
+            history = moves;
+            ensureCapacity(length + 1 + 2 * history);
         }
-        return false;
     }
 
-    public boolean contains(Point point) {
-        return body.contains(point);
+    /**
+     * Get the number of recent moves that restore can undo
+     *
+     * @return Moves kept in history
+     */
+    public int getHistory() {
+        return history;
+    }
+
+    OccupancyGrid getOccupancy() {
+        return occupancy;
     }
 
     public void reset(int startX, int startY, int initialLength) {
-        body.clear();
+        occupancy.clear();
+        length = 0;
+        bodyHash = 0;
         direction = Direction.RIGHT;
 
-        for (int i = 0; i < initialLength; i++) {
-            body.add(new Point(startX - i * unitSize, startY));
+        int x = Math.floorMod(startX / unitSize, cols);
+        int y = Math.floorMod(startY / unitSize, rows);
+        // Lay segments out tail first so the head ends up at the start
+        for (int i = initialLength - 1; i >= 0; i--) {
+            addHead(y * cols + Math.floorMod(x - i, cols));
         }
     }
 
-    public void wrapAround(int width, int height) {
-        Point head = body.getFirst();
-        if (head.x < 0)
-            head.x = width - unitSize;
-        if (head.x >= width)
-            head.x = 0;
-        if (head.y < 0)
-            head.y = height - unitSize;
-        if (head.y >= height)
-            head.y = 0;
+    /**
+     * Make this snake an exact copy of another snake on a board of the same size
+     *
+     * @param other Snake to copy
+     */
+    public void copyFrom(Snake other) {
+        occupancy.copyFrom(other.occupancy);
+
+        // Serials map to slots by ring size, so copy the ring as it is
+        if (ring.length != other.ring.length) {
+            ring = new int[other.ring.length];
+        }
+        System.arraycopy(other.ring, 0, ring, 0, ring.length);
 
-        body.set(0, head);
+        length = other.length;
+        headSerial = other.headSerial;
+        bodyHash = other.bodyHash;
+        direction = other.direction;
+    }
+
+    /**
+     * Return to an earlier state of this snake, given the values its
+     * getters returned then. Only segments that differ between the two
+     * states are touched, so undoing k moves costs O(k) whatever the length.
+     * The state must be on the current timeline (no moves were undone and
+     * replayed differently since it was read) and at most getHistory() moves old.
+     *
+     * @param targetSerial    getHeadSerial() at the time
+     * @param targetLength    getLength() at the time
+     * @param targetDirection getDirection() at the time
+     * @param targetHash      getBodyHash() at the time
+     */
+    void restore(int targetSerial, int targetLength, Direction targetDirection, long targetHash) {
+        int targetOldest = targetSerial - targetLength + 1;
+        int oldest = headSerial - length + 1;
+        if (Math.max(headSerial, targetSerial) - Math.min(oldest, targetOldest) >= ring.length) {
+            throw new IllegalStateException("Snake state is too old to restore");
+        }
+
+        // Serials in the current body but not the target one leave...
+        for (int serial = oldest; serial <= headSerial && serial < targetOldest; serial++) {
+            occupancy.decrement(cellOf(serial));
+        }
+        for (int serial = Math.max(oldest, targetSerial + 1); serial <= headSerial; serial++) {
+            occupancy.decrement(cellOf(serial));
+        }
+        // ...and serials only in the target body come back
+        for (int serial = targetOldest; serial <= targetSerial && serial < oldest; serial++) {
+            occupancy.increment(cellOf(serial), serial);
+        }
+        for (int serial = Math.max(targetOldest, headSerial + 1); serial <= targetSerial; serial++) {
+            occupancy.increment(cellOf(serial), serial);
+        }
+
+        headSerial = targetSerial;
+        length = targetLength;
+        direction = targetDirection;
+        bodyHash = targetHash;
+    }
+
+    private int cellOf(int serial) {
+        return ring[-serial & (ring.length - 1)];
     }
 
     public void draw(Graphics g, int unitSize) {
-        if (body == null || body.isEmpty())
+        draw(g, unitSize, 0, 0, cols * unitSize, rows * unitSize);
+    }
+
+    /**
+     * Draw only the segments inside a viewport.
+     * When the snake is longer than the viewport has cells, the viewport is
+     * scanned chunk by chunk instead, skipping empty chunks, so the cost is
+     * bounded by the viewport size rather than the snake length.
+     *
+     * @param g          Graphics in board pixel coordinates
+     * @param unitSize   Size of one cell in pixels
+     * @param viewX      Left edge of the viewport in board pixels
+     * @param viewY      Top edge of the viewport in board pixels
+     * @param viewWidth  Viewport width in pixels
+     * @param viewHeight Viewport height in pixels
+     */
+    public void draw(Graphics g, int unitSize, int viewX, int viewY, int viewWidth, int viewHeight) {
+        draw(g, unitSize, viewX, viewY, viewWidth, viewHeight, RenderQuality.FULL);
+    }
+
+    /**
+     * Draw only the segments inside a viewport, with the given amount of detail
+     *
+     * @param g          Graphics in board pixel coordinates
+     * @param unitSize   Size of one cell in pixels
+     * @param viewX      Left edge of the viewport in board pixels
+     * @param viewY      Top edge of the viewport in board pixels
+     * @param viewWidth  Viewport width in pixels
+     * @param viewHeight Viewport height in pixels
+     * @param quality    FULL, FLAT squares, or BATCHED runs
+     */
+    public void draw(Graphics g, int unitSize, int viewX, int viewY, int viewWidth, int viewHeight,
+            RenderQuality quality) {
+        if (length == 0)
+            return;
+
+        int minX = Math.max(0, viewX / unitSize);
+        int minY = Math.max(0, viewY / unitSize);
+        int maxX = Math.min(cols - 1, (viewX + viewWidth - 1) / unitSize);
+        int maxY = Math.min(rows - 1, (viewY + viewHeight - 1) / unitSize);
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        long visibleCells = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (quality == RenderQuality.BATCHED) {
+            if (length <= visibleCells) {
+                drawRuns(g, unitSize, minX, minY, maxX, maxY);
+            } else {
+                drawRows(g, unitSize, minX, minY, maxX, maxY);
+            }
+            int head = getHeadCell();
+            int x = head % cols;
+            int y = head / cols;
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                drawSegment(g, x, y, 0, unitSize, quality);
+            }
+            return;
+        }
+
+        if (length <= visibleCells) {
+            for (int i = 0; i < length; i++) {
+                int cell = getCell(i);
+                int x = cell % cols;
+                int y = cell / cols;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    drawSegment(g, x, y, i, unitSize, quality);
+                }
+            }
+            return;
+        }
+
+        int chunk = OccupancyGrid.CHUNK_SIZE;
+        for (int chunkY = minY / chunk; chunkY <= maxY / chunk; chunkY++) {
+            for (int chunkX = minX / chunk; chunkX <= maxX / chunk; chunkX++) {
+                if (!occupancy.isChunkOccupied(chunkX, chunkY)) {
+                    continue;
+                }
+                int top = Math.max(minY, chunkY * chunk);
+                int bottom = Math.min(maxY, chunkY * chunk + chunk - 1);
+                int left = Math.max(minX, chunkX * chunk);
+                int right = Math.min(maxX, chunkX * chunk + chunk - 1);
+                for (int y = top; y <= bottom; y++) {
+                    for (int x = left; x <= right; x++) {
+                        if (occupancy.getAt(x, y) > 0) {
+                            drawSegment(g, x, y, headSerial - occupancy.getStampAt(x, y), unitSize, quality);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fill each straight run of body segments (the head is drawn separately)
+     * with as few rectangles as its colours allow, so the number of fills
+     * follows the number of turns rather than the length. A straight
+     * run that wraps across a board edge is split there, since its two parts
+     * are on opposite sides of the screen.
+     */
+    private void drawRuns(Graphics g, int unitSize, int minX, int minY, int maxX, int maxY) {
+        if (length < 2) {
             return;
+        }
+        int startIndex = 1;
+        int previous = getCell(1);
+        int step = 0;
+        for (int i = 2; i < length; i++) {
+            int cell = getCell(i);
+            int delta = cell - previous;
+            boolean adjacent = (delta == 1 || delta == -1) ? cell / cols == previous / cols
+                    : delta == cols || delta == -cols;
+            if (!adjacent || (step != 0 && delta != step)) {
+                fillRun(g, unitSize, getCell(startIndex), startIndex, previous, i - 1, minX, minY, maxX, maxY);
+                startIndex = i;
+                step = 0;
+            } else {
+                step = delta;
+            }
+            previous = cell;
+        }
+        fillRun(g, unitSize, getCell(startIndex), startIndex, previous, length - 1, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Fill a straight run of segments clipped to the visible cells. Body
+     * colours change in small steps along the snake, so neighbouring
+     * segments mostly share a colour; each band of equal colour is filled
+     * with one rectangle, giving the same pixels as drawing every segment.
+     */
+    private void fillRun(Graphics g, int unitSize, int fromCell, int fromIndex, int toCell, int toIndex,
+            int minX, int minY, int maxX, int maxY) {
+        int x = fromCell % cols;
+        int y = fromCell / cols;
+        int dx = Integer.signum(toCell % cols - x);
+        int dy = Integer.signum(toCell / cols - y);
+        int dIndex = Integer.signum(toIndex - fromIndex);
+        int cells = Math.abs(toIndex - fromIndex) + 1;
+
+        int band = 0;
+        while (band < cells) {
+            int rgb = bodyRgb(fromIndex + band * dIndex);
+            int end = band + 1;
+            while (end < cells && bodyRgb(fromIndex + end * dIndex) == rgb) {
+                end++;
+            }
+            int x1 = x + band * dx;
+            int y1 = y + band * dy;
+            int x2 = x + (end - 1) * dx;
+            int y2 = y + (end - 1) * dy;
+            int left = Math.max(minX, Math.min(x1, x2));
+            int right = Math.min(maxX, Math.max(x1, x2));
+            int top = Math.max(minY, Math.min(y1, y2));
+            int bottom = Math.min(maxY, Math.max(y1, y2));
+            if (left <= right && top <= bottom) {
+                g.setColor(bandColor(rgb));
+                g.fillRect(left * unitSize, top * unitSize,
+                        (right - left + 1) * unitSize, (bottom - top + 1) * unitSize);
+            }
+            band = end;
+        }
+    }
+
+    /**
+     * Fill horizontal runs of visible body segments, skipping empty chunks;
+     * used when the snake is longer than the viewport has cells. A run ends
+     * where the next cell in the row is not the next segment of the body.
+     */
+    private void drawRows(Graphics g, int unitSize, int minX, int minY, int maxX, int maxY) {
+        int chunk = OccupancyGrid.CHUNK_SIZE;
+        for (int y = minY; y <= maxY; y++) {
+            int x = minX;
+            while (x <= maxX) {
+                if (!occupancy.isChunkOccupied(x / chunk, y / chunk)) {
+                    x = (x / chunk + 1) * chunk;
+                    continue;
+                }
+                if (occupancy.getAt(x, y) == 0) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                int startIndex = headSerial - occupancy.getStampAt(x, y);
+                int index = startIndex;
+                int step = 0;
+                x++;
+                while (x <= maxX && occupancy.getAt(x, y) > 0) {
+                    int next = headSerial - occupancy.getStampAt(x, y);
+                    if ((next - index != 1 && next - index != -1) || (step != 0 && next - index != step)) {
+                        break;
+                    }
+                    step = next - index;
+                    index = next;
+                    x++;
+                }
+                fillRun(g, unitSize, y * cols + start, startIndex, y * cols + x - 1, index,
+                        minX, minY, maxX, maxY);
+            }
+        }
+    }
+
+    private Color bandColor(int rgb) {
+        if (bandColors == null) {
+            bandRgbs = new int[BAND_COLOR_SLOTS];
+            bandColors = new Color[BAND_COLOR_SLOTS];
+        }
+        int mask = BAND_COLOR_SLOTS - 1;
+        int slot = (rgb * 0x9E3779B1) >>> 22 & mask;
+        while (bandColors[slot] != null) {
+            if (bandRgbs[slot] == rgb) {
+                return bandColors[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (bandColorCount >= BAND_COLOR_SLOTS / 2) {
+            // Only after many head colour changes; start over
+            Arrays.fill(bandColors, null);
+            bandColorCount = 0;
+            slot = (rgb * 0x9E3779B1) >>> 22 & mask;
+        }
+        bandColorCount++;
+        bandRgbs[slot] = rgb;
+        bandColors[slot] = new Color(rgb);
+        return bandColors[slot];
+    }
+
+    private Color bodyColor(int index) {
+        return color != null
+                ? UITheme.createSnakeBodyColor(color, index, length)
+                : UITheme.createSnakeBodyColor(index, length);
+    }
+
+    private int bodyRgb(int index) {
+        return color != null
+                ? UITheme.snakeBodyRgb(color, index, length)
+                : UITheme.snakeBodyRgb(index, length);
+    }
 
-        for (int i = 0; i < body.size(); i++) {
-            Point segment = body.get(i);
+    private void drawSegment(Graphics g, int cellX, int cellY, int index, int unitSize, RenderQuality quality) {
+        int x = cellX * unitSize;
+        int y = cellY * unitSize;
 
-            if (i == 0) {
-                drawHead(g, segment, unitSize);
+        if (quality != RenderQuality.FULL) {
+            if (index == 0) {
+                g.setColor(color != null ? color : UITheme.COLOR_SNAKE_HEAD);
             } else {
-                drawBodySegment(g, segment, i, unitSize);
+                g.setColor(bodyColor(index));
             }
+            g.fillRect(x, y, unitSize, unitSize);
+            return;
+        }
 
-            g.setColor(UITheme.COLOR_SNAKE_BODY_BORDER);
-            g.drawRoundRect(segment.x, segment.y, unitSize, unitSize, 5, 5);
+        if (index == 0) {
+            drawHead(g, x, y, unitSize);
+        } else {
+            drawBodySegment(g, x, y, index, unitSize);
         }
+
+        g.setColor(UITheme.COLOR_SNAKE_BODY_BORDER);
+        g.drawRoundRect(x, y, unitSize, unitSize, 5, 5);
     }
 
-    private void drawHead(Graphics g, Point head, int unitSize) {
-        g.setColor(UITheme.COLOR_SNAKE_HEAD);
-        g.fillRoundRect(head.x, head.y, unitSize, unitSize, 5, 5);
-        drawEyes(g, head, unitSize);
+    private void drawHead(Graphics g, int x, int y, int unitSize) {
+        g.setColor(color != null ? color : UITheme.COLOR_SNAKE_HEAD);
+        g.fillRoundRect(x, y, unitSize, unitSize, 5, 5);
+        drawEyes(g, x, y, unitSize);
     }
 
-    private void drawBodySegment(Graphics g, Point segment, int index, int unitSize) {
-        g.setColor(UITheme.createSnakeBodyColor(index, body.size()));
-        g.fillRoundRect(segment.x, segment.y, unitSize, unitSize, 5, 5);
+    private void drawBodySegment(Graphics g, int x, int y, int index, int unitSize) {
+        g.setColor(bodyColor(index));
+        g.fillRoundRect(x, y, unitSize, unitSize, 5, 5);
     }
 
-    private void drawEyes(Graphics g, Point head, int unitSize) {
+    private void drawEyes(Graphics g, int x, int y, int unitSize) {
         g.setColor(UITheme.COLOR_SNAKE_EYES);
         int eyeSize = unitSize / 5;
 
         switch (direction) {
             case RIGHT:
-                g.fillOval(head.x + unitSize - eyeSize * 2, head.y + eyeSize * 2, eyeSize, eyeSize);
-                g.fillOval(head.x + unitSize - eyeSize * 2, head.y + unitSize - eyeSize * 3, eyeSize, eyeSize);
+                g.fillOval(x + unitSize - eyeSize * 2, y + eyeSize * 2, eyeSize, eyeSize);
+                g.fillOval(x + unitSize - eyeSize * 2, y + unitSize - eyeSize * 3, eyeSize, eyeSize);
                 break;
             case LEFT:
-                g.fillOval(head.x + eyeSize, head.y + eyeSize * 2, eyeSize, eyeSize);
-                g.fillOval(head.x + eyeSize, head.y + unitSize - eyeSize * 3, eyeSize, eyeSize);
+                g.fillOval(x + eyeSize, y + eyeSize * 2, eyeSize, eyeSize);
+                g.fillOval(x + eyeSize, y + unitSize - eyeSize * 3, eyeSize, eyeSize);
                 break;
             case UP:
-                g.fillOval(head.x + eyeSize * 2, head.y + eyeSize, eyeSize, eyeSize);
-                g.fillOval(head.x + unitSize - eyeSize * 3, head.y + eyeSize, eyeSize, eyeSize);
+                g.fillOval(x + eyeSize * 2, y + eyeSize, eyeSize, eyeSize);
+                g.fillOval(x + unitSize - eyeSize * 3, y + eyeSize, eyeSize, eyeSize);
                 break;
             case DOWN:
-                g.fillOval(head.x + eyeSize * 2, head.y + unitSize - eyeSize * 2, eyeSize, eyeSize);
-                g.fillOval(head.x + unitSize - eyeSize * 3, head.y + unitSize - eyeSize * 2, eyeSize, eyeSize);
+                g.fillOval(x + eyeSize * 2, y + unitSize - eyeSize * 2, eyeSize, eyeSize);
+                g.fillOval(x + unitSize - eyeSize * 3, y + unitSize - eyeSize * 2, eyeSize, eyeSize);
                 break;
         }
     }
 
+    /**
+     * Read-only list of segment positions in pixels, head first.
+     * Points are created on access, so hot paths should use getCell instead.
+     */
+    private class BodyView extends AbstractList<Point> {
+        @Override
+        public Point get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+            return toPoint(getCell(index));
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Point && Snake.this.contains((Point) o);
+        }
+    }
+
+    private Point toPoint(int cell) {
+        return new Point((cell % cols) * unitSize, (cell / cols) * unitSize);
+    }
+
     // Getters and Setters
-    public LinkedList<Point> getBody() {
-        return body;
+    public List<Point> getBody() {
+        return bodyView;
     }
 
     public Point getHead() {
-        return body.getFirst();
+        return toPoint(getHeadCell());
+    }
+
+    /**
+     * Get the cell of a segment
+     *
+     * @param index Segment index, 0 is the head
+     * @return Packed cell index (y * cols + x)
+     */
+    public int getCell(int index) {
+        return ring[(index - headSerial) & (ring.length - 1)];
+    }
+
+    /**
+     * Get the number of heads ever added to this snake, including the
+     * segments laid out by reset. Comparing two readings tells how many
+     * cells were pushed at the head in between.
+     *
+     * @return Head move counter
+     */
+    public int getHeadSerial() {
+        return headSerial;
+    }
+
+    /**
+     * Get the Zobrist hash of the cells the body covers.
+     * Updated incrementally as the head is pushed and the tail popped.
+     *
+     * @return XOR of the keys of all segment cells
+     */
+    public long getBodyHash() {
+        return bodyHash;
+    }
+
+    public int getHeadCell() {
+        return ring[-headSerial & (ring.length - 1)];
+    }
+
+    public int getTailCell() {
+        return getCell(length - 1);
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
     }
 
     public Direction getDirection() {
@@ -165,6 +677,15 @@ public class Snake {
     }
 
     public int getLength() {
-        return body.size();
+        return length;
+    }
+
+    /**
+     * Set the head colour, with the body drawn in darker shades of it
+     *
+     * @param color Head colour, or null for the default theme colours
+     */
+    public void setColor(Color color) {
+        this.color = color;
     }
-}
\ No newline at end of file
+}
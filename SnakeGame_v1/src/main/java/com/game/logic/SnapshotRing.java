@@ -0,0 +1,71 @@
+package com.game.logic;
+
+/**
+ * Fixed ring of preallocated snapshots indexed by tick, for rolling a game
+ * back a few ticks. Saving and restoring copy a handful of scalars and
+ * never allocate.
+ */
+public class SnapshotRing {
+    private final GameSnapshot[] snapshots;
+    private final int mask;
+
+    /**
+     * Create a ring that remembers the given number of recent ticks.
+     * Games restored from it must keep that many moves of history; up to
+     * Snake.HISTORY needs nothing, longer rings need GameController.keepHistory.
+     *
+     * @param capacity Ticks to keep, rounded up to a power of two
+     */
+    public SnapshotRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        snapshots = new GameSnapshot[Math.max(1, size)];
+        for (int i = 0; i < snapshots.length; i++) {
+            snapshots[i] = new GameSnapshot();
+        }
+        mask = snapshots.length - 1;
+    }
+
+    /**
+     * Save a game's state as it is at the start of a tick
+     *
+     * @param tick Tick number
+     * @param game Game to save
+     */
+    public void save(long tick, GameController game) {
+        GameSnapshot snapshot = snapshots[(int) (tick & mask)];
+        game.saveSnapshot(snapshot);
+        snapshot.tick = tick;
+    }
+
+    /**
+     * Put a game back to the state saved for a tick
+     *
+     * @param tick Tick number
+     * @param game Game to restore
+     * @throws IllegalStateException If that tick is no longer in the ring
+     */
+    public void restore(long tick, GameController game) {
+        GameSnapshot snapshot = snapshots[(int) (tick & mask)];
+        if (snapshot.tick != tick) {
+            throw new IllegalStateException("No snapshot for tick " + tick);
+        }
+        game.restoreSnapshot(snapshot);
+    }
+
+    /**
+     * Check if a tick can still be restored
+     *
+     * @param tick Tick number
+     * @return true if its snapshot is in the ring
+     */
+    public boolean contains(long tick) {
+        return snapshots[(int) (tick & mask)].tick == tick;
+    }
+
+    public int getCapacity() {
+        return snapshots.length;
+    }
+}
@@ -1,66 +1,72 @@
 package com.game.logic;
 
 import java.awt.*;
-import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Supplier;
+import java.util.Random;
 
+import com.game.metrics.FlightEvents;
+import com.game.metrics.SpecialFoodEvent;
 import com.game.utils.UITheme;
 
 /**
  * SpecialFood class extends Food, represents special food in the game
- * It has time-limited existence and spawn cooldown mechanisms
+ * It has time-limited existence and spawn cooldown mechanisms.
+ * Time is advanced by the game loop rather than by wall-clock timers, so the
+ * food stops aging while the game is paused and behaves identically in
+ * headless simulations.
  */
 public class SpecialFood extends Food {
-    private Timer existenceTimer;
-    private Timer spawnCooldownTimer;
-    private Timer spawnCheckTimer;
-    private boolean canSpawn = false;
     private boolean isVisible = false;
-    private long createTime = 0;
-    private final AtomicBoolean isGamePaused;
-    private final int gameWidth;
-    private final int gameHeight;
-    private Supplier<List<Point>> snakeBodySupplier;
+    private long remainingTime = 0;
+    private long cooldownRemaining;
+    private int durationMs = DURATION_MS;
+    private int spawnCooldownMs = SPAWN_COOLDOWN_MS;
+    private int score = SPECIALFOOD_SCORE;
 
     public static final int SPECIALFOOD_SCORE = 100;
     public static final int DURATION_MS = 10000;
     public static final int SPAWN_COOLDOWN_MS = 20000;
-    public static final int SPAWN_CHECK_INTERVAL = 100;
 
-    public SpecialFood(int unitSize, AtomicBoolean isGamePaused, int gameWidth, int gameHeight,
-            Supplier<List<Point>> snakeBodySupplier) {
-        super(unitSize);
-        this.isGamePaused = isGamePaused;
-        this.gameWidth = gameWidth;
-        this.gameHeight = gameHeight;
-        this.snakeBodySupplier = snakeBodySupplier;
-
-        startSpawnCooldown();
-        startSpawnCheckTimer();
+    public SpecialFood(int unitSize) {
+        this(unitSize, new Random());
     }
 
-    public SpecialFood(int unitSize, Supplier<List<Point>> snakeBodySupplier) {
-        this(unitSize, new AtomicBoolean(false), 600, 600, snakeBodySupplier);
+    /**
+     * Create special food whose positions are drawn from the given random source
+     *
+     * @param unitSize Size of one cell in pixels
+     * @param random   Source of food positions
+     */
+    public SpecialFood(int unitSize, Random random) {
+        super(unitSize, random);
+        reset();
     }
 
-    @Override
-    public void generate(int width, int height, List<Point> snakeBody) {
-        if (isGamePaused.get() || !canSpawn || isVisible) {
-            return;
-        }
-        super.generate(width, height, snakeBody);
-        Point foodPos = getPosition();
+    /**
+     * Advance the existence and spawn cooldown clocks by one game tick.
+     * Spawns the food once the cooldown has elapsed, and hides it again
+     * when its existence time runs out.
+     *
+     * @param elapsedMs Game time covered by the tick
+     * @param width     Board width in pixels
+     * @param height    Board height in pixels
+     * @param snake     Snake whose cells must be avoided when spawning
+     */
+    public void advance(long elapsedMs, int width, int height, Snake snake) {
+        cooldownRemaining -= elapsedMs;
 
-        if (foodPos != null && !snakeBody.contains(foodPos)) {
+        if (isVisible) {
+            remainingTime -= elapsedMs;
+            if (remainingTime <= 0) {
+                disappear();
+            }
+        } else if (cooldownRemaining <= 0) {
+            generate(width, height, snake);
             isVisible = true;
-            createTime = System.currentTimeMillis();
-            canSpawn = false;
-            startExistenceTimer();
-            startSpawnCooldown();
-            System.out.println("SpecialFood: " + foodPos + ", existing for " + (DURATION_MS / 1000) + " seconds");
+            remainingTime = durationMs;
+            cooldownRemaining = spawnCooldownMs;
+            if (FlightEvents.isRecording()) {
+                SpecialFoodEvent.emit("spawn", getPosition().x, getPosition().y, remainingTime);
+            }
         }
     }
 
@@ -81,175 +87,114 @@ public class SpecialFood extends Food {
     }
 
     /**
-     * Start/reset spawn check timer
-     * Check spawn condition at fixed interval (SPAWN_CHECK_INTERVAL)
+     * Make special food disappear (reset position and visibility)
      */
-    private void startSpawnCheckTimer() {
-        if (spawnCheckTimer != null) {
-            spawnCheckTimer.cancel();
-            spawnCheckTimer.purge();
+    public void disappear() {
+        if (!isVisible) {
+            return;
         }
-
-        spawnCheckTimer = new Timer("SpecialFoodSpawnChecker", true);
-        spawnCheckTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                // Skip if game paused, food visible or spawn not allowed
-                if (isGamePaused.get() || isVisible || !canSpawn) {
-                    return;
-                }
-                // 使用snakeBodySupplier获取当前蛇的身体位置
-                List<Point> currentSnakeBody = snakeBodySupplier.get();
-                if (currentSnakeBody != null) {
-                    generate(gameWidth, gameHeight, currentSnakeBody);
-                }
-            }
-        }, 0, SPAWN_CHECK_INTERVAL);
+        if (FlightEvents.isRecording()) {
+            SpecialFoodEvent.emit("disappear", getPosition().x, getPosition().y, Math.max(0, remainingTime));
+        }
+        setPosition(null);
+        isVisible = false;
+        remainingTime = 0;
     }
 
     /**
-     * Start/reset existence timer
-     * Make food disappear after DURATION_MS
+     * Hide the food and restart the spawn cooldown, as at the start of a game
      */
-    private void startExistenceTimer() {
-        if (existenceTimer != null) {
-            existenceTimer.cancel();
-            existenceTimer.purge();
-        }
-
-        existenceTimer = new Timer("SpecialFoodExistenceTimer", true);
-        existenceTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                // Skip if game is paused
-                if (isGamePaused.get()) {
-                    return;
-                }
-                disappear();
-            }
-        }, DURATION_MS);
+    public void reset() {
+        setPosition(null);
+        isVisible = false;
+        remainingTime = 0;
+        cooldownRemaining = spawnCooldownMs;
     }
 
     /**
-     * Start/reset spawn cooldown timer
-     * Set canSpawn to true after SPAWN_COOLDOWN_MS
+     * Put the clocks back to values read earlier; the position is restored
+     * separately
+     *
+     * @param visible           isVisible() at the time
+     * @param remainingTime     getRemainingTime() at the time
+     * @param cooldownRemaining getCooldownRemaining() at the time
      */
-    public void startSpawnCooldown() {
-        if (spawnCooldownTimer != null) {
-            spawnCooldownTimer.cancel();
-            spawnCooldownTimer.purge();
-        }
-
-        spawnCooldownTimer = new Timer("SpecialFoodCooldownTimer", true);
-        spawnCooldownTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                // Restart cooldown if game is paused
-                if (isGamePaused.get()) {
-                    startSpawnCooldown();
-                    return;
-                }
-                canSpawn = true;
-                System.out.println("SpecialFood cool down, generated available");
-            }
-        }, SPAWN_COOLDOWN_MS);
+    void restoreClocks(boolean visible, long remainingTime, long cooldownRemaining) {
+        this.isVisible = visible;
+        this.remainingTime = remainingTime;
+        this.cooldownRemaining = cooldownRemaining;
     }
 
     /**
-     * Make special food disappear (reset position and visibility)
+     * Make this special food an exact copy of another one's position and clocks
+     *
+     * @param other Special food to copy
      */
-    public void disappear() {
-        if (!isVisible) {
-            return;
-        }
-        cancelExistenceTimer();
-
-        System.out.println("SpecialFood disappear, enter 20s CD");
-        setPosition(null);
-        isVisible = false;
-        createTime = 0;
+    public void copyFrom(SpecialFood other) {
+        super.copyFrom(other);
+        isVisible = other.isVisible;
+        remainingTime = other.remainingTime;
+        cooldownRemaining = other.cooldownRemaining;
+        durationMs = other.durationMs;
+        spawnCooldownMs = other.spawnCooldownMs;
+        score = other.score;
     }
 
-    private void cancelExistenceTimer() {
-        if (existenceTimer != null) {
-            existenceTimer.cancel();
-            existenceTimer.purge();
-            existenceTimer = null;
-        }
+    /**
+     * Get score of special food
+     *
+     * @return Points awarded for eating it (SPECIALFOOD_SCORE by default)
+     */
+    @Override
+    public int getScore() {
+        return score;
     }
 
     /**
-     * Resume all timers after game unpauses
-     * Recalculate remaining existence time for visible food
+     * Set points awarded for eating special food
+     *
+     * @param score Points per special food
      */
-    public void resumeTimers() {
-        if (isVisible && createTime > 0) {
-            long elapsed = System.currentTimeMillis() - createTime;
-            long remaining = DURATION_MS - elapsed;
+    public void setScore(int score) {
+        this.score = score;
+    }
 
-            if (remaining > 0) {
-                if (existenceTimer != null) {
-                    existenceTimer.cancel();
-                    existenceTimer.purge();
-                }
-                existenceTimer = new Timer(true);
-                existenceTimer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        if (!isGamePaused.get()) {
-                            disappear();
-                        }
-                    }
-                }, remaining);
-            } else {
-                disappear();
-                startSpawnCooldown();
-                return;
-            }
-        }
-        startSpawnCooldown();
-        startSpawnCheckTimer();
+    /**
+     * Set how long special food stays on the board
+     *
+     * @param durationMs Existence time in game milliseconds
+     */
+    public void setDurationMs(int durationMs) {
+        this.durationMs = durationMs;
     }
 
     /**
-     * Get score of special food
-     * 
-     * @return SPECIALFOOD_SCORE (100)
+     * Set the time between special food spawns
+     *
+     * @param spawnCooldownMs Cooldown in game milliseconds, counted from the last spawn
      */
-    public int getScore() {
-        return SPECIALFOOD_SCORE;
+    public void setSpawnCooldownMs(int spawnCooldownMs) {
+        this.spawnCooldownMs = spawnCooldownMs;
+        if (!isVisible) {
+            cooldownRemaining = Math.min(cooldownRemaining, spawnCooldownMs);
+        }
+    }
+
+    public int getSpawnCooldownMs() {
+        return spawnCooldownMs;
     }
 
     /**
-     * Clean up all timers and reset state
+     * Clean up state when the owning game is disposed
      */
     @Override
     public void cleanUp() {
-        if (existenceTimer != null) {
-            existenceTimer.cancel();
-            existenceTimer.purge();
-            existenceTimer = null;
-        }
-        if (spawnCooldownTimer != null) {
-            spawnCooldownTimer.cancel();
-            spawnCooldownTimer.purge();
-            spawnCooldownTimer = null;
-        }
-        if (spawnCheckTimer != null) {
-            spawnCheckTimer.cancel();
-            spawnCheckTimer.purge();
-            spawnCheckTimer = null;
-        }
-
-        setPosition(null);
-        isVisible = false;
-        canSpawn = false;
-        createTime = 0;
+        reset();
     }
 
     /**
      * Check if special food is visible
-     * 
+     *
      * @return true if visible, false otherwise
      */
     public boolean isVisible() {
@@ -257,23 +202,20 @@ public class SpecialFood extends Food {
     }
 
     /**
-     * Calculate remaining existence time of special food
-     * 
-     * @return Remaining time (ms), 0 if not visible
+     * Get the game time left before the next spawn may happen
+     *
+     * @return Cooldown remaining in game milliseconds
      */
-    public long getRemainingTime() {
-        if (!isVisible)
-            return 0;
-        long elapsed = System.currentTimeMillis() - createTime;
-        return Math.max(0, DURATION_MS - elapsed);
+    public long getCooldownRemaining() {
+        return cooldownRemaining;
     }
 
     /**
-     * Set snake body supplier
-     * 
-     * @param snakeBodySupplier Supplier that provides current snake body positions
+     * Calculate remaining existence time of special food
+     *
+     * @return Remaining time (ms), 0 if not visible
      */
-    public void setSnakeBodySupplier(Supplier<List<Point>> snakeBodySupplier) {
-        this.snakeBodySupplier = snakeBodySupplier;
+    public long getRemainingTime() {
+        return isVisible ? Math.max(0, remainingTime) : 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.game.logic;
+
+/**
+ * Zobrist-style hashing helpers for comparing game states across machines.
+ * Keys are derived from the value itself with a 64-bit mixing function
+ * rather than looked up in a random table, so any board size works and
+ * every peer computes the same keys without sharing a table.
+ */
+public final class StateHash {
+    // Distinct salts keep keys for different kinds of value apart
+    static final long BODY_SALT = 0x5EED_0001L;
+    static final long HEAD_SALT = 0x5EED_0002L;
+    static final long FOOD_SALT = 0x5EED_0003L;
+    static final long SPECIAL_FOOD_SALT = 0x5EED_0004L;
+    static final long SCALAR_SALT = 0x5EED_0005L;
+
+    private StateHash() {
+    }
+
+    /**
+     * Get the key for a value of a given kind
+     *
+     * @param salt  Kind of value, one of the *_SALT constants
+     * @param value Value to key, such as a packed cell index
+     * @return Well-mixed 64-bit key
+     */
+    static long key(long salt, long value) {
+        return mix(salt * 0x9E3779B97F4A7C15L + value);
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every input bit over the whole result
+     *
+     * @param z Value to mix
+     * @return Mixed value
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
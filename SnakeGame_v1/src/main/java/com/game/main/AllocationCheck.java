@@ -0,0 +1,97 @@
+package com.game.main;
+
+import com.game.bot.HamiltonianBot;
+import com.game.logic.GameController;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Headless allocation check for the game loop: plays seeded games with the
+ * Hamiltonian solver for many ticks and measures the bytes allocated inside
+ * GameController.update on this thread. The bot and game resets are not
+ * counted. Exits with status 1 if the average after warm-up exceeds the
+ * budget, so the build can enforce an allocation-free tick (see the
+ * alloc-check profile in pom.xml).
+ * Needs a HotSpot-based JVM for per-thread allocation counters.
+ * Usage: AllocationCheck [ticks] [budgetBytesPerTick] [cols] [rows] [seed]
+ */
+public class AllocationCheck {
+    private static final int WARMUP_TICKS = 200_000;
+
+    public static void main(String[] args) {
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : 2_000_000;
+        double budget = args.length > 1 ? Double.parseDouble(args[1]) : 0.01;
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : 24;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 24;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0L;
+
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("Per-thread allocation counters are not available on this JVM");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        long threadId = Thread.currentThread().getId();
+
+        int width = cols * GameConstants.UNIT_SIZE;
+        int height = rows * GameConstants.UNIT_SIZE;
+        HamiltonianBot bot = new HamiltonianBot(width, height, GameConstants.UNIT_SIZE);
+        GameController game = new GameController(null, seed, width, height);
+
+        // Reading the counter may itself allocate on some JVMs; measure that and leave it out
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long before = allocation.getThreadAllocatedBytes(threadId);
+            long after = allocation.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, after - before);
+        }
+
+        long measuredBytes = 0;
+        long measuredTicks = 0;
+        long allocatingTicks = 0;
+        long worstTick = 0;
+        long games = 1;
+        long start = System.nanoTime();
+
+        for (long tick = 0; tick < WARMUP_TICKS + ticks; tick++) {
+            if (game.getGameState() != GameState.RUNNING) {
+                game.resetGame();
+                games++;
+            }
+            game.setDirection(bot.nextDirection(game));
+
+            long before = allocation.getThreadAllocatedBytes(threadId);
+            game.update();
+            long bytes = allocation.getThreadAllocatedBytes(threadId) - before - overhead;
+
+            if (tick >= WARMUP_TICKS) {
+                measuredTicks++;
+                if (bytes > 0) {
+                    measuredBytes += bytes;
+                    allocatingTicks++;
+                    worstTick = Math.max(worstTick, bytes);
+                }
+            }
+        }
+
+        double perTick = (double) measuredBytes / measuredTicks;
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("ticks=" + measuredTicks
+                + " games=" + games
+                + " board=" + cols + "x" + rows
+                + " allocated=" + measuredBytes + "B"
+                + " perTick=" + String.format(java.util.Locale.ROOT, "%.4f", perTick) + "B"
+                + " allocatingTicks=" + allocatingTicks
+                + " worstTick=" + worstTick + "B"
+                + " budget=" + budget + "B"
+                + " time=" + elapsedMs + "ms");
+
+        if (perTick > budget) {
+            System.out.println("FAILED: GameController.update allocates " + perTick
+                    + " bytes per tick, over the budget of " + budget);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.game.main;
+
+import com.game.bot.ArenaBot;
+import com.game.bot.GreedyArenaBot;
+import com.game.logic.ArenaController;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+/**
+ * Headless arena load test: runs bot-only arenas back to back and reports
+ * tick throughput. A new round starts whenever one ends.
+ * Usage: ArenaLoadTest [bots] [ticks] [cols] [rows] [seed]
+ */
+public class ArenaLoadTest {
+    public static void main(String[] args) {
+        int bots = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long ticks = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0L;
+
+        ArenaController arena = new ArenaController(cols * GameConstants.UNIT_SIZE,
+                rows * GameConstants.UNIT_SIZE, bots, Math.max(1, bots / 2), seed);
+        ArenaBot bot = new GreedyArenaBot();
+
+        long rounds = 1;
+        long roundTicks = 0;
+        long longestRound = 0;
+        long start = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            if (arena.getGameState() != GameState.RUNNING) {
+                longestRound = Math.max(longestRound, roundTicks);
+                roundTicks = 0;
+                rounds++;
+                arena.reset();
+            }
+            for (int i = 0; i < bots; i++) {
+                if (arena.isAlive(i)) {
+                    arena.setDirection(i, bot.nextDirection(arena, i));
+                }
+            }
+            arena.update();
+            roundTicks++;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.println("bots=" + bots
+                + " board=" + cols + "x" + rows
+                + " ticks=" + ticks
+                + " rounds=" + rounds
+                + " longestRound=" + Math.max(longestRound, roundTicks)
+                + " time=" + elapsedNanos / 1_000_000 + "ms"
+                + " perTick=" + elapsedNanos / ticks / 1000.0 + "us");
+    }
+}
@@ -0,0 +1,323 @@
+package com.game.main;
+
+import com.game.bot.BotRunner;
+import com.game.bot.HamiltonianBot;
+import com.game.bot.MonteCarloBot;
+import com.game.bot.PathfindingBot;
+import com.game.bot.SnakeBot;
+import com.game.bot.SnakeBotProvider;
+import com.game.logic.GameController;
+import com.game.logic.SpecialFood;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Headless batch runner: plays many seeded games with a bot across all cores
+ * and streams one result per game to a CSV or binary file as games finish.
+ * Used to tune special food timing and scores without playing by hand.
+ * Plugin bots (see SnakeBotProvider) are played by name, each move within
+ * --bot-budget-ms.
+ *
+ * Binary records are big-endian: long seed, int score, int length,
+ * long ticks, byte cause (0 = self collision, 1 = board full, 2 = tick limit).
+ */
+public class BatchSimulation {
+    private static final String USAGE = "Usage: BatchSimulation [options]\n"
+            + "  --games N                 number of games (default 100)\n"
+            + "  --bot NAME                pathfinding | hamiltonian | mcts | plugin name (default pathfinding)\n"
+            + "  --seed S                  first seed; game i uses S + i (default 0)\n"
+            + "  --cols C --rows R         board size in cells (default 30 x 30)\n"
+            + "  --tick-ms MS              game time per tick (default 200)\n"
+            + "  --max-ticks T             stop a game after T ticks (default 1000000)\n"
+            + "  --special-cooldown-ms MS  special food spawn cooldown (default 20000)\n"
+            + "  --special-duration-ms MS  special food lifetime (default 10000)\n"
+            + "  --special-score N         special food score (default 100)\n"
+            + "  --mcts-budget-ms MS       MCTS time per move (default 5)\n"
+            + "  --bot-budget-ms MS        plugin bot time per move (default 50)\n"
+            + "  --threads N               parallel games (default: all cores)\n"
+            + "  --out FILE                output file (default results.csv)\n"
+            + "  --format csv|binary       output format (default csv)";
+
+    private static final String[] CAUSES = { "self_collision", "board_full", "tick_limit" };
+
+    private static final class Settings {
+        int games = 100;
+        String bot = "pathfinding";
+        long seed = 0;
+        int cols = GameConstants.GAME_WIDTH / GameConstants.UNIT_SIZE;
+        int rows = GameConstants.GAME_HEIGHT / GameConstants.UNIT_SIZE;
+        int tickMillis = GameController.DEFAULT_TICK_MILLIS;
+        long maxTicks = 1_000_000;
+        int specialCooldownMs = SpecialFood.SPAWN_COOLDOWN_MS;
+        int specialDurationMs = SpecialFood.DURATION_MS;
+        int specialScore = SpecialFood.SPECIALFOOD_SCORE;
+        long mctsBudgetMs = 5;
+        long botBudgetMs = 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = "results.csv";
+        boolean binary = false;
+    }
+
+    private static final class GameResult {
+        final long seed;
+        final int score;
+        final int length;
+        final long ticks;
+        final int cause;
+
+        GameResult(long seed, int score, int length, long ticks, int cause) {
+            this.seed = seed;
+            this.score = score;
+            this.length = length;
+            this.ticks = ticks;
+            this.cause = cause;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings;
+        try {
+            settings = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        // Bots keep per-board search buffers, so each worker thread gets its own.
+        // Plugin bots run on their own threads, at most one move per game thread.
+        BotRunner runner = new BotRunner(settings.threads, settings.threads);
+        List<SnakeBot> createdBots = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<SnakeBot> bots = ThreadLocal.withInitial(() -> {
+            SnakeBot bot = createBot(settings, runner);
+            createdBots.add(bot);
+            return bot;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(settings.threads);
+        CompletionService<GameResult> results = new ExecutorCompletionService<>(pool);
+        for (int i = 0; i < settings.games; i++) {
+            long seed = settings.seed + i;
+            results.submit(() -> play(settings, bots.get(), seed));
+        }
+
+        long start = System.nanoTime();
+        long totalScore = 0;
+        long totalLength = 0;
+        try (ResultWriter writer = settings.binary
+                ? new BinaryResultWriter(settings.out)
+                : new CsvResultWriter(settings.out)) {
+            for (int i = 0; i < settings.games; i++) {
+                GameResult result = results.take().get();
+                writer.write(result);
+                totalScore += result.score;
+                totalLength += result.length;
+            }
+        } finally {
+            pool.shutdown();
+            runner.close();
+            for (SnakeBot bot : createdBots) {
+                if (bot instanceof MonteCarloBot) {
+                    ((MonteCarloBot) bot).shutdown();
+                }
+            }
+        }
+
+        long timeouts = 0;
+        for (SnakeBot bot : createdBots) {
+            if (bot instanceof BotRunner.TimedBot) {
+                timeouts += ((BotRunner.TimedBot) bot).getTimeouts();
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Played " + settings.games + " games with " + settings.bot
+                + " in " + elapsedMs + "ms: mean score " + (totalScore / (double) settings.games)
+                + ", mean length " + (totalLength / (double) settings.games)
+                + (timeouts > 0 ? ", " + timeouts + " moves over budget" : "")
+                + ", results in " + settings.out);
+    }
+
+    private static GameResult play(Settings settings, SnakeBot bot, long seed) {
+        GameController game = new GameController(null, seed,
+                settings.cols * GameConstants.UNIT_SIZE, settings.rows * GameConstants.UNIT_SIZE);
+        game.setTickMillis(settings.tickMillis);
+        game.getSpecialFood().setSpawnCooldownMs(settings.specialCooldownMs);
+        game.getSpecialFood().setDurationMs(settings.specialDurationMs);
+        game.getSpecialFood().setScore(settings.specialScore);
+
+        long ticks = 0;
+        while (game.getGameState() == GameState.RUNNING && ticks < settings.maxTicks) {
+            game.setDirection(bot.nextDirection(game));
+            game.update();
+            ticks++;
+        }
+
+        int cause;
+        if (game.isBoardFull()) {
+            cause = 1;
+        } else if (game.getGameState() == GameState.RUNNING) {
+            cause = 2;
+        } else {
+            cause = 0;
+        }
+        return new GameResult(seed, game.getScore(), game.getSnake().getLength(), ticks, cause);
+    }
+
+    private static SnakeBot createBot(Settings settings, BotRunner runner) {
+        int width = settings.cols * GameConstants.UNIT_SIZE;
+        int height = settings.rows * GameConstants.UNIT_SIZE;
+        switch (settings.bot) {
+            case "pathfinding":
+                return new PathfindingBot(width, height, GameConstants.UNIT_SIZE);
+            case "hamiltonian":
+                return new HamiltonianBot(width, height, GameConstants.UNIT_SIZE);
+            case "mcts":
+                // Games already run in parallel, so each search stays on its own thread
+                return new MonteCarloBot(settings.mctsBudgetMs, 1);
+            default:
+                SnakeBotProvider provider = BotRunner.findProvider(settings.bot);
+                if (provider == null) {
+                    throw new IllegalArgumentException("Unknown bot: " + settings.bot
+                            + " (plugins: " + BotRunner.providerNames() + ")");
+                }
+                return runner.timed(settings.bot, provider.create(settings.cols, settings.rows), settings.botBudgetMs);
+        }
+    }
+
+    private static Settings parse(String[] args) {
+        Settings settings = new Settings();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help") || option.equals("-h")) {
+                throw new IllegalArgumentException("Snake batch simulation");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--games":
+                        settings.games = Integer.parseInt(value);
+                        break;
+                    case "--bot":
+                        settings.bot = value;
+                        break;
+                    case "--seed":
+                        settings.seed = Long.parseLong(value);
+                        break;
+                    case "--cols":
+                        settings.cols = Integer.parseInt(value);
+                        break;
+                    case "--rows":
+                        settings.rows = Integer.parseInt(value);
+                        break;
+                    case "--tick-ms":
+                        settings.tickMillis = Integer.parseInt(value);
+                        break;
+                    case "--max-ticks":
+                        settings.maxTicks = Long.parseLong(value);
+                        break;
+                    case "--special-cooldown-ms":
+                        settings.specialCooldownMs = Integer.parseInt(value);
+                        break;
+                    case "--special-duration-ms":
+                        settings.specialDurationMs = Integer.parseInt(value);
+                        break;
+                    case "--special-score":
+                        settings.specialScore = Integer.parseInt(value);
+                        break;
+                    case "--bot-budget-ms":
+                        settings.botBudgetMs = Long.parseLong(value);
+                        break;
+                    case "--mcts-budget-ms":
+                        settings.mctsBudgetMs = Long.parseLong(value);
+                        break;
+                    case "--threads":
+                        settings.threads = Integer.parseInt(value);
+                        break;
+                    case "--out":
+                        settings.out = value;
+                        break;
+                    case "--format":
+                        if (!value.equals("csv") && !value.equals("binary")) {
+                            throw new IllegalArgumentException("Unknown format: " + value);
+                        }
+                        settings.binary = value.equals("binary");
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + option + ": " + value);
+            }
+        }
+
+        if (settings.games < 1 || settings.threads < 1 || settings.cols < 2 || settings.rows < 2) {
+            throw new IllegalArgumentException("games, threads, cols and rows must be positive");
+        }
+        // Fail fast on bad bot names or boards the bot cannot handle
+        try (BotRunner runner = new BotRunner(1, 1)) {
+            SnakeBot probe = createBot(settings, runner);
+            if (probe instanceof MonteCarloBot) {
+                ((MonteCarloBot) probe).shutdown();
+            }
+        }
+        return settings;
+    }
+
+    private interface ResultWriter extends Closeable {
+        void write(GameResult result) throws IOException;
+    }
+
+    private static final class CsvResultWriter implements ResultWriter {
+        private final BufferedWriter writer;
+
+        CsvResultWriter(String path) throws IOException {
+            writer = new BufferedWriter(new FileWriter(path));
+            writer.write("seed,score,length,ticks,cause");
+            writer.newLine();
+        }
+
+        @Override
+        public void write(GameResult result) throws IOException {
+            writer.write(result.seed + "," + result.score + "," + result.length + ","
+                    + result.ticks + "," + CAUSES[result.cause]);
+            writer.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class BinaryResultWriter implements ResultWriter {
+        private final DataOutputStream out;
+
+        BinaryResultWriter(String path) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+        }
+
+        @Override
+        public void write(GameResult result) throws IOException {
+            out.writeLong(result.seed);
+            out.writeInt(result.score);
+            out.writeInt(result.length);
+            out.writeLong(result.ticks);
+            out.writeByte(result.cause);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
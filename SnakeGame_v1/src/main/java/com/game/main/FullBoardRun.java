@@ -0,0 +1,41 @@
+package com.game.main;
+
+import com.game.bot.HamiltonianBot;
+import com.game.logic.GameController;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+/**
+ * Headless endurance run: plays seeded games with the Hamiltonian solver
+ * until the snake covers the whole board.
+ * Usage: FullBoardRun [games] [firstSeed]
+ */
+public class FullBoardRun {
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+
+        HamiltonianBot bot = new HamiltonianBot(GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT,
+                GameConstants.UNIT_SIZE);
+
+        for (int i = 0; i < games; i++) {
+            long seed = firstSeed + i;
+            GameController game = new GameController(null, seed);
+            long start = System.nanoTime();
+            long ticks = 0;
+
+            while (game.getGameState() == GameState.RUNNING) {
+                game.setDirection(bot.nextDirection(game));
+                game.update();
+                ticks++;
+            }
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("seed=" + seed
+                    + " ticks=" + ticks
+                    + " length=" + game.getSnake().getLength() + "/" + game.getCellCount()
+                    + " full=" + game.isBoardFull()
+                    + " time=" + elapsedMs + "ms");
+        }
+    }
+}
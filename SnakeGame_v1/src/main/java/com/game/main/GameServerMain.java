@@ -0,0 +1,28 @@
+package com.game.main;
+
+import com.game.logic.GameController;
+import com.game.net.GameServer;
+import com.game.utils.GameConstants;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Runs the authoritative game server on the loopback interface.
+ * Usage: GameServerMain [port] [tickMs] [cols] [rows]
+ */
+public class GameServerMain {
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int tickMillis = args.length > 1 ? Integer.parseInt(args[1]) : GameController.DEFAULT_TICK_MILLIS;
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : GameConstants.GAME_WIDTH / GameConstants.UNIT_SIZE;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : GameConstants.GAME_HEIGHT / GameConstants.UNIT_SIZE;
+
+        GameController game = new GameController(null, cols * GameConstants.UNIT_SIZE, rows * GameConstants.UNIT_SIZE);
+        GameServer server = new GameServer(game, new InetSocketAddress("127.0.0.1", port), tickMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        System.out.println("Game server listening on 127.0.0.1:" + server.getPort()
+                + ", tick " + tickMillis + "ms, board " + cols + "x" + rows);
+        server.run();
+    }
+}
@@ -0,0 +1,158 @@
+package com.game.main;
+
+import com.game.bot.HamiltonianBot;
+import com.game.bot.InputPlanner;
+import com.game.bot.PathfindingBot;
+import com.game.bot.SnakeBot;
+import com.game.logic.GameController;
+import com.game.net.LockstepSession;
+import com.game.utils.Direction;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Head-to-head lockstep match between two processes. The host's snake is
+ * steered by the pathfinding bot and the joining peer's by the Hamiltonian
+ * bot, so the two games differ and a mixed-up input shows as a desync.
+ * Bots plan for the tick their input lands on. Prints the result and whether
+ * the peers stayed in sync; the self test fails unless they did while the
+ * two games came out different.
+ * Usage:
+ *   LockstepMatch host PORT [ticks] [seed] [tickMs] [inputDelay]
+ *   LockstepMatch join HOST:PORT [ticks]
+ *   LockstepMatch selftest [ticks] [seed]   (both peers in this process)
+ */
+public class LockstepMatch {
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "selftest";
+        switch (mode) {
+            case "host": {
+                int port = Integer.parseInt(args[1]);
+                long ticks = args.length > 2 ? Long.parseLong(args[2]) : 10_000;
+                long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+                int tickMillis = args.length > 4 ? Integer.parseInt(args[4]) : GameController.DEFAULT_TICK_MILLIS;
+                int inputDelay = args.length > 5 ? Integer.parseInt(args[5]) : 2;
+                try (ServerSocketChannel server = ServerSocketChannel.open()) {
+                    server.bind(new InetSocketAddress("127.0.0.1", port));
+                    System.out.println("Waiting for a peer on 127.0.0.1:" + port);
+                    try (SocketChannel channel = server.accept()) {
+                        channel.socket().setTcpNoDelay(true);
+                        play(LockstepSession.host(channel, seed, GameConstants.GAME_WIDTH,
+                                GameConstants.GAME_HEIGHT, tickMillis, inputDelay), ticks);
+                    }
+                }
+                break;
+            }
+            case "join": {
+                String[] hostPort = args[1].split(":");
+                long ticks = args.length > 2 ? Long.parseLong(args[2]) : 10_000;
+                try (SocketChannel channel = SocketChannel.open(
+                        new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1])))) {
+                    channel.socket().setTcpNoDelay(true);
+                    play(LockstepSession.join(channel), ticks);
+                }
+                break;
+            }
+            case "selftest": {
+                long ticks = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+                long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+                selfTest(ticks, seed);
+                break;
+            }
+            default:
+                System.err.println("Unknown mode: " + mode);
+                System.exit(2);
+        }
+    }
+
+    private static void selfTest(long ticks, long seed) throws Exception {
+        LockstepSession[] guestSession = new LockstepSession[1];
+        LockstepSession hostSession;
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+
+            Thread guest = new Thread(() -> {
+                try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+                    channel.socket().setTcpNoDelay(true);
+                    guestSession[0] = play(LockstepSession.join(channel), ticks);
+                } catch (Exception e) {
+                    System.out.println("Guest failed: " + e.getMessage());
+                }
+            }, "lockstep-guest");
+            guest.start();
+
+            try (SocketChannel channel = server.accept()) {
+                channel.socket().setTcpNoDelay(true);
+                hostSession = play(LockstepSession.host(channel, seed, GameConstants.GAME_WIDTH,
+                        GameConstants.GAME_HEIGHT, GameController.DEFAULT_TICK_MILLIS, 2), ticks);
+            }
+            guest.join();
+        }
+
+        // Both peers must agree, but on two games that went their own ways
+        LockstepSession guest = guestSession[0];
+        boolean inSync = guest != null && hostSession.getDesyncTick() < 0 && guest.getDesyncTick() < 0
+                && hostSession.getTick() == guest.getTick()
+                && hostSession.getStateHash() == guest.getStateHash();
+        boolean diverged = hostSession.getGame(0).getStateHash() != hostSession.getGame(1).getStateHash();
+        System.out.println("selftest inSync=" + inSync + " gamesDiverged=" + diverged);
+        if (!inSync || !diverged) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Play until the tick limit or until both snakes are dead; each peer
+     * only decides for its own snake
+     *
+     * @return The finished session
+     */
+    private static LockstepSession play(LockstepSession session, long ticks) throws Exception {
+        GameController own = session.getGame(session.getLocalIndex());
+        InputPlanner planner = new InputPlanner(createBot(session.getLocalIndex(), own), own,
+                session.getInputDelay());
+        long start = System.nanoTime();
+
+        boolean inSync = true;
+        while (inSync && session.getTick() < ticks && !bothOver(session)) {
+            Direction input = planner.nextInput(own);
+            if (input != null) {
+                session.submitLocalInput(input);
+            }
+            inSync = session.step();
+        }
+        session.finish();
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("player=" + session.getLocalIndex()
+                + " ticks=" + session.getTick()
+                + " scores=" + session.getGame(0).getScore() + ":" + session.getGame(1).getScore()
+                + " hash=" + Long.toHexString(session.getStateHash())
+                + " desyncTick=" + session.getDesyncTick()
+                + " time=" + elapsedMs + "ms");
+        return session;
+    }
+
+    /**
+     * Pick a different bot for each player, so their inputs and games differ
+     *
+     * @param player 0 for the host, 1 for the peer that joined
+     * @param game   Player's game
+     * @return Pathfinding bot for the host, Hamiltonian bot for the other player
+     */
+    static SnakeBot createBot(int player, GameController game) {
+        return player == 0
+                ? new PathfindingBot(game.getBoardWidth(), game.getBoardHeight(), game.getUnitSize())
+                : new HamiltonianBot(game.getBoardWidth(), game.getBoardHeight(), game.getUnitSize());
+    }
+
+    private static boolean bothOver(LockstepSession session) {
+        return session.getGame(0).getGameState() == GameState.GAME_OVER
+                && session.getGame(1).getGameState() == GameState.GAME_OVER;
+    }
+}
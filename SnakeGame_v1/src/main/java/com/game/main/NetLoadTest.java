@@ -0,0 +1,158 @@
+package com.game.main;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.net.GameServer;
+import com.game.net.Protocol;
+import com.game.net.SnapshotDecoder;
+import com.game.utils.Direction;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Loopback load test: starts a server, connects many clients from one
+ * client-side selector, steers with the first client, and decodes the
+ * keyframes and deltas every client receives. At the end the server is
+ * stopped and every client reads to end of stream, so a client agrees when
+ * its decoded state matches the server's final tick exactly.
+ * Usage: NetLoadTest [clients] [seconds] [tickMs]
+ */
+public class NetLoadTest {
+    // How long clients may take to read what the server sent before it closed
+    private static final long DRAIN_NANOS = 10_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int tickMillis = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        GameController game = new GameController(null, 1L);
+        GameServer server = new GameServer(game,
+                new InetSocketAddress("127.0.0.1", 0), tickMillis);
+        Thread serverThread = new Thread(server, "game-server");
+        serverThread.start();
+
+        Selector selector = Selector.open();
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+        SocketChannel[] channels = new SocketChannel[clientCount];
+        long[] frames = new long[clientCount];
+        long bytes = 0;
+        SnapshotDecoder[] decoders = new SnapshotDecoder[clientCount];
+        ByteBuffer[] inputs = new ByteBuffer[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            channels[i] = SocketChannel.open(address);
+            channels[i].configureBlocking(false);
+            channels[i].register(selector, SelectionKey.OP_READ, i);
+            inputs[i] = ByteBuffer.allocateDirect(64 * 1024);
+            decoders[i] = new SnapshotDecoder();
+        }
+
+        ByteBuffer command = ByteBuffer.allocateDirect(Protocol.INPUT_FRAME_SIZE);
+        Random random = new Random(0);
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long nextInput = start;
+        boolean stopped = false;
+        long elapsedNanos = 0;
+        while (!selector.keys().isEmpty()) {
+            long now = System.nanoTime();
+            if (!stopped && now >= end) {
+                // Stop the server; it flushes what it has and closes every connection
+                stopped = true;
+                elapsedNanos = now - start;
+                server.close();
+            } else if (stopped && now - start - elapsedNanos >= DRAIN_NANOS) {
+                break;
+            }
+            if (!stopped && now >= nextInput) {
+                // Player turns now and then, and restarts after dying
+                command.clear();
+                if (random.nextInt(8) == 0) {
+                    command.put(Protocol.INPUT_RESTART).put((byte) 0);
+                } else {
+                    command.put(Protocol.INPUT_DIRECTION).put((byte) random.nextInt(Direction.values().length));
+                }
+                command.flip();
+                channels[0].write(command);
+                nextInput += tickMillis * 5_000_000L;
+            }
+
+            selector.select(tickMillis);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                int i = (Integer) key.attachment();
+                ByteBuffer input = inputs[i];
+                int read = channels[i].read(input);
+                if (read < 0) {
+                    key.cancel();
+                    continue;
+                }
+                bytes += read;
+                input.flip();
+                while (input.remaining() >= Protocol.LENGTH_FIELD_SIZE
+                        && input.remaining() >= Protocol.LENGTH_FIELD_SIZE + input.getInt(input.position())) {
+                    decoders[i].apply(input);
+                    frames[i]++;
+                }
+                input.compact();
+            }
+        }
+        serverThread.join();
+
+        // The server thread has finished, so its game can be read here
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        int agreeing = 0;
+        for (int i = 0; i < clientCount; i++) {
+            total += frames[i];
+            min = Math.min(min, frames[i]);
+            if (matches(decoders[i], server.getTick(), game)) {
+                agreeing++;
+            }
+            channels[i].close();
+        }
+        selector.close();
+
+        System.out.println("clients=" + clientCount
+                + " ticks=" + server.getTick()
+                + " frames=" + total
+                + " minPerClient=" + min
+                + " framesPerSecond=" + (long) (total / (elapsedNanos / 1e9))
+                + " bytesPerFrame=" + (total == 0 ? 0 : bytes / total)
+                + " clientsInAgreement=" + agreeing
+                + " dropped=" + server.getDroppedFrames());
+    }
+
+    /**
+     * Check a client's decoded state against the server's
+     *
+     * @param decoder Client's decoder, after reading to end of stream
+     * @param tick    Server's last tick
+     * @param game    Server's game
+     * @return true if the tick, game state, score, direction and every body cell match
+     */
+    private static boolean matches(SnapshotDecoder decoder, long tick, GameController game) {
+        Snake snake = game.getSnake();
+        if (!decoder.isSynced() || decoder.getTick() != tick
+                || decoder.getGameState() != game.getGameState().ordinal()
+                || decoder.getScore() != game.getScore()
+                || decoder.getDirection() != snake.getDirection().ordinal()
+                || decoder.getLength() != snake.getLength()) {
+            return false;
+        }
+        for (int i = 0; i < snake.getLength(); i++) {
+            if (decoder.getCell(i) != snake.getCell(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
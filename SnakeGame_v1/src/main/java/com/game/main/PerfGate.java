@@ -0,0 +1,222 @@
+package com.game.main;
+
+import com.game.bot.HamiltonianBot;
+import com.game.data.PlayerData;
+import com.game.logic.Food;
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.utils.Direction;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Performance regression gate: times a few short benchmarks and compares
+ * them with a baseline file, failing with status 1 when any of them is
+ * slower than the baseline by more than the threshold (0.3 = 30% slower).
+ * Each benchmark is run several times and the best round counts, which
+ * keeps the gate stable on a busy machine. "update" measures and writes
+ * the baseline instead; baselines only compare on the machine that made
+ * them. Run in verify with the perf-gate profile in pom.xml.
+ * Usage: PerfGate check|update [baselineFile] [threshold]
+ */
+public class PerfGate {
+    private static final int ROUNDS = 10;
+    private static final String TICK = "tick.nanos";
+    private static final String FOOD_GENERATE = "food.generate.nanos";
+    private static final String PLAYERS_LOAD = "players.load.millis";
+
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "check";
+        String baselineFile = args.length > 1 ? args[1] : "perf-baseline.properties";
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.3;
+        if (!mode.equals("check") && !mode.equals("update")) {
+            System.out.println("Usage: PerfGate check|update [baselineFile] [threshold]");
+            System.exit(2);
+        }
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        results.put(TICK, best(PerfGate::tickNanos));
+        results.put(FOOD_GENERATE, best(PerfGate::foodGenerateNanos));
+        results.put(PLAYERS_LOAD, best(PerfGate::playersLoadMillis));
+
+        if (mode.equals("update")) {
+            writeBaseline(baselineFile, results);
+            for (Map.Entry<String, Double> result : results.entrySet()) {
+                System.out.println(result.getKey() + "=" + format(result.getValue()));
+            }
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+
+        File file = new File(baselineFile);
+        if (!file.exists()) {
+            System.out.println("No baseline at " + baselineFile + "; create one with: PerfGate update " + baselineFile);
+            System.exit(2);
+        }
+        Properties baseline = new Properties();
+        try (Reader reader = new FileReader(file)) {
+            baseline.load(reader);
+        }
+
+        boolean regressed = false;
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+            String stored = baseline.getProperty(result.getKey());
+            double current = result.getValue();
+            if (stored == null) {
+                System.out.println(result.getKey() + ": " + format(current) + " (not in baseline)");
+                continue;
+            }
+            double expected = Double.parseDouble(stored);
+            double change = current / expected - 1;
+            boolean slower = change > threshold;
+            regressed |= slower;
+            System.out.println(result.getKey() + ": " + format(current)
+                    + " baseline=" + format(expected)
+                    + " change=" + String.format(Locale.ROOT, "%+.1f%%", change * 100)
+                    + (slower ? " REGRESSION" : ""));
+        }
+
+        if (regressed) {
+            System.out.println("FAILED: slower than " + baselineFile + " by more than "
+                    + String.format(Locale.ROOT, "%.0f%%", threshold * 100));
+            System.exit(1);
+        }
+    }
+
+    private interface Benchmark {
+        double run() throws IOException;
+    }
+
+    /**
+     * Run a benchmark once to warm up, then ROUNDS more times
+     *
+     * @param benchmark Benchmark returning its time per operation
+     * @return Fastest of the measured rounds
+     */
+    private static double best(Benchmark benchmark) throws IOException {
+        benchmark.run();
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            // Start each round with an empty heap so earlier garbage is not collected on its time
+            System.gc();
+            best = Math.min(best, benchmark.run());
+        }
+        return best;
+    }
+
+    /**
+     * Seeded Hamiltonian games on a 24x24 board, restarting as each one ends
+     *
+     * @return Nanoseconds per tick, bot move included
+     */
+    private static double tickNanos() {
+        int ticks = 1_000_000;
+        int size = 24 * GameConstants.UNIT_SIZE;
+        HamiltonianBot bot = new HamiltonianBot(size, size, GameConstants.UNIT_SIZE);
+        GameController game = new GameController(null, 0L, size, size);
+
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            if (game.getGameState() != GameState.RUNNING) {
+                game.resetGame();
+            }
+            game.setDirection(bot.nextDirection(game));
+            game.update();
+        }
+        return (double) (System.nanoTime() - start) / ticks;
+    }
+
+    /**
+     * Place food again and again on a 64x64 board with 90% of its cells
+     * covered by the snake
+     *
+     * @return Nanoseconds per Food.generate call
+     */
+    private static double foodGenerateNanos() {
+        int calls = 1_000_000;
+        int cols = 64;
+        int size = cols * GameConstants.UNIT_SIZE;
+        Snake snake = new Snake(0, 0, GameConstants.UNIT_SIZE, 1, size, size);
+        // Grow back and forth across the board from the top-left corner
+        for (int i = 1; i < cols * cols * 9 / 10; i++) {
+            int head = snake.getHeadCell();
+            int x = head % cols;
+            boolean rightward = (head / cols) % 2 == 0;
+            if (rightward ? x == cols - 1 : x == 0) {
+                snake.setDirection(Direction.DOWN);
+            } else {
+                snake.setDirection(rightward ? Direction.RIGHT : Direction.LEFT);
+            }
+            snake.move();
+        }
+        Food food = new Food(GameConstants.UNIT_SIZE, new Random(0));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            food.generate(size, size, snake);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (snake.occupies(food.getPosition().y / GameConstants.UNIT_SIZE * cols
+                + food.getPosition().x / GameConstants.UNIT_SIZE)) {
+            throw new IllegalStateException("Food placed on the snake");
+        }
+        return (double) elapsed / calls;
+    }
+
+    /**
+     * Load a player file of 100,000 players
+     *
+     * @return Milliseconds per load
+     */
+    private static double playersLoadMillis() throws IOException {
+        int count = 100_000;
+        File file = File.createTempFile("perf-players", ".txt");
+        file.deleteOnExit();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("# Player data");
+            writer.newLine();
+            for (int i = 0; i < count; i++) {
+                writer.write("player" + i + " password" + i + " " + (i * 37 % 10_000));
+                writer.newLine();
+            }
+        }
+
+        long start = System.nanoTime();
+        PlayerData players = new PlayerData(file.getPath());
+        long elapsed = System.nanoTime() - start;
+        file.delete();
+        if (players.getAllPlayers().size() != count) {
+            throw new IllegalStateException("Loaded " + players.getAllPlayers().size() + " of " + count + " players");
+        }
+        return elapsed / 1e6;
+    }
+
+    private static void writeBaseline(String baselineFile, Map<String, Double> results) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(baselineFile))) {
+            writer.write("# Perf gate baseline: best of " + ROUNDS + " rounds per benchmark");
+            writer.newLine();
+            writer.write("# Regenerate on the build machine with: PerfGate update " + baselineFile);
+            writer.newLine();
+            for (Map.Entry<String, Double> result : results.entrySet()) {
+                writer.write(result.getKey() + "=" + format(result.getValue()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,461 @@
+package com.game.main;
+
+import com.game.bot.HamiltonianBot;
+import com.game.bot.PathfindingBot;
+import com.game.bot.SnakeBot;
+import com.game.logic.GameController;
+import com.game.logic.SpecialFood;
+import com.game.ui.GamePanel;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+import com.game.utils.RenderQuality;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless replay exporter: replays a seeded bot game, the same game
+ * BatchSimulation plays for that seed, and renders it with GamePanel's own
+ * drawing code into a numbered PNG sequence or an animated GIF, e.g. to
+ * make clips of the top scores from a batch run.
+ *
+ * Frames are painted one at a time on the calling thread, then encoded on a
+ * pool of worker threads (PNG compression, or colour reduction for GIF).
+ * Finished frames are written in order by the calling thread through a
+ * bounded queue, so at most --queue frames are held in memory however long
+ * the game is.
+ */
+public class ReplayExport {
+    private static final String USAGE = "Usage: ReplayExport [options]\n"
+            + "  --seed S                  game seed (default 0)\n"
+            + "  --bot NAME                pathfinding | hamiltonian (default pathfinding)\n"
+            + "  --cols C --rows R         board size in cells (default 30 x 30)\n"
+            + "  --tick-ms MS              game time per tick (default 200)\n"
+            + "  --max-ticks T             stop the game after T ticks (default 100000)\n"
+            + "  --special-cooldown-ms MS  special food spawn cooldown (default 20000)\n"
+            + "  --special-duration-ms MS  special food lifetime (default 10000)\n"
+            + "  --special-score N         special food score (default 100)\n"
+            + "  --last N                  only export the last N ticks (default: whole game)\n"
+            + "  --every K                 export every K-th tick (default 1)\n"
+            + "  --format png|gif          numbered PNG files or one animated GIF (default gif)\n"
+            + "  --out PATH                output directory for png, file for gif (default replay.gif)\n"
+            + "  --threads N               encoder threads (default: all cores)\n"
+            + "  --queue N                 frames in flight between rendering and writing (default 2 x threads)";
+
+    // The final frame, usually the game over screen, stays up this long in a GIF
+    private static final int GIF_END_DELAY_CS = 300;
+
+    private static final class Settings {
+        long seed = 0;
+        String bot = "pathfinding";
+        int cols = GameConstants.GAME_WIDTH / GameConstants.UNIT_SIZE;
+        int rows = GameConstants.GAME_HEIGHT / GameConstants.UNIT_SIZE;
+        int tickMillis = GameController.DEFAULT_TICK_MILLIS;
+        long maxTicks = 100_000;
+        int specialCooldownMs = SpecialFood.SPAWN_COOLDOWN_MS;
+        int specialDurationMs = SpecialFood.DURATION_MS;
+        int specialScore = SpecialFood.SPECIALFOOD_SCORE;
+        long last = 0;
+        int every = 1;
+        boolean gif = true;
+        String out = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int queue = 0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Settings settings;
+        try {
+            settings = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        // The game is deterministic, so a first pass finds its length and the
+        // second pass renders the wanted ticks
+        long ticks = play(settings, newGame(settings), null);
+        long firstTick = settings.last > 0 ? Math.max(0, ticks - settings.last) : 0;
+
+        long start = System.nanoTime();
+        ExecutorService encoders = Executors.newFixedThreadPool(settings.threads);
+        int frames;
+        try (FrameSink sink = settings.gif ? new GifSink(settings) : new PngSink(settings)) {
+            FramePipeline pipeline = new FramePipeline(settings, encoders, sink, firstTick, ticks);
+            play(settings, pipeline.game, pipeline);
+            frames = pipeline.finish();
+        } finally {
+            encoders.shutdown();
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Exported " + frames + " frames of a " + ticks + "-tick " + settings.bot
+                + " game (seed " + settings.seed + ") to " + settings.out + " in " + elapsedMs + "ms");
+    }
+
+    private static GameController newGame(Settings settings) {
+        GameController game = new GameController(null, settings.seed,
+                settings.cols * GameConstants.UNIT_SIZE, settings.rows * GameConstants.UNIT_SIZE);
+        configure(settings, game);
+        return game;
+    }
+
+    /**
+     * Apply the game settings BatchSimulation uses, so the same seed plays the same game
+     *
+     * @param settings Export settings
+     * @param game     Game to configure
+     */
+    private static void configure(Settings settings, GameController game) {
+        game.setTickMillis(settings.tickMillis);
+        game.getSpecialFood().setSpawnCooldownMs(settings.specialCooldownMs);
+        game.getSpecialFood().setDurationMs(settings.specialDurationMs);
+        game.getSpecialFood().setScore(settings.specialScore);
+    }
+
+    /**
+     * Play the game to its end with the bot, showing each state to the pipeline
+     *
+     * @param settings Export settings
+     * @param game     Fresh game for the seed
+     * @param pipeline Receives the start state and the state after every tick, or null
+     * @return Ticks played
+     */
+    private static long play(Settings settings, GameController game, FramePipeline pipeline)
+            throws InterruptedException, ExecutionException, IOException {
+        SnakeBot bot = createBot(settings);
+        long ticks = 0;
+        if (pipeline != null) {
+            pipeline.show(0);
+        }
+        while (game.getGameState() == GameState.RUNNING && ticks < settings.maxTicks) {
+            game.setDirection(bot.nextDirection(game));
+            game.update();
+            ticks++;
+            if (pipeline != null) {
+                pipeline.show(ticks);
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * Renders the chosen ticks into pooled images and hands them to the
+     * encoders, keeping the encoded frames in order for the sink
+     */
+    private static final class FramePipeline {
+        final GameController game;
+        private final GamePanel panel;
+        private final Settings settings;
+        private final ExecutorService encoders;
+        private final FrameSink sink;
+        private final long firstTick;
+        private final long lastTick;
+        // Encoded frames in the order they were rendered; its capacity bounds memory
+        private final BlockingQueue<Future<Object>> inFlight;
+        // Images free to render into; one more than can be in flight or being written
+        private final BlockingQueue<BufferedImage> images;
+        private int frames;
+
+        FramePipeline(Settings settings, ExecutorService encoders, FrameSink sink, long firstTick, long lastTick) {
+            this.settings = settings;
+            this.encoders = encoders;
+            this.sink = sink;
+            this.firstTick = firstTick;
+            this.lastTick = lastTick;
+            this.game = newGame(settings);
+            this.panel = new GamePanel(game);
+            // The panel's own timer would advance the game; the exporter does that
+            panel.cleanUp();
+            panel.setRenderQuality(RenderQuality.FULL);
+            // Small boards get a frame of their own size, larger ones the game window's view
+            int width = Math.min(settings.cols * GameConstants.UNIT_SIZE, GameConstants.GAME_WIDTH);
+            int height = Math.min(settings.rows * GameConstants.UNIT_SIZE, GameConstants.GAME_HEIGHT);
+            panel.setSize(width, height);
+            configure(settings, game);
+            game.setGameState(GameState.RUNNING);
+            inFlight = new ArrayBlockingQueue<>(settings.queue);
+            images = new ArrayBlockingQueue<>(settings.queue + 2);
+            for (int i = 0; i < settings.queue + 2; i++) {
+                images.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+            }
+        }
+
+        /**
+         * Render the game's current state if this tick is exported
+         *
+         * @param tick Ticks played so far
+         */
+        void show(long tick) throws InterruptedException, ExecutionException, IOException {
+            if (tick < firstTick || ((tick - firstTick) % settings.every != 0 && tick != lastTick)) {
+                return;
+            }
+            BufferedImage image = images.take();
+            Graphics2D g = image.createGraphics();
+            panel.paint(g);
+            g.dispose();
+
+            int frame = frames++;
+            boolean end = tick == lastTick;
+            Future<Object> encoded = encoders.submit(() -> {
+                try {
+                    return sink.encode(frame, image);
+                } finally {
+                    images.put(image);
+                }
+            });
+            // Write the oldest frames while the queue is full, so rendering
+            // never runs more than the queue's capacity ahead of writing
+            while (!inFlight.offer(encoded)) {
+                writeOldest(false);
+            }
+            if (end) {
+                finish();
+            }
+        }
+
+        private void writeOldest(boolean last) throws InterruptedException, ExecutionException, IOException {
+            Future<Object> oldest = inFlight.take();
+            sink.write(oldest.get(), last && inFlight.isEmpty());
+        }
+
+        /**
+         * Write every frame still in flight
+         *
+         * @return Frames exported
+         */
+        int finish() throws InterruptedException, ExecutionException, IOException {
+            while (!inFlight.isEmpty()) {
+                writeOldest(true);
+            }
+            return frames;
+        }
+    }
+
+    /**
+     * Where frames go: encode runs on the worker threads, write on the
+     * rendering thread in frame order
+     */
+    private interface FrameSink extends AutoCloseable {
+        Object encode(int frame, BufferedImage image) throws IOException;
+
+        void write(Object encoded, boolean last) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Numbered PNG files, each compressed and written by a worker thread
+     */
+    private static final class PngSink implements FrameSink {
+        private final File directory;
+
+        PngSink(Settings settings) throws IOException {
+            directory = new File(settings.out);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create directory " + directory);
+            }
+        }
+
+        @Override
+        public Object encode(int frame, BufferedImage image) throws IOException {
+            File file = new File(directory, String.format("frame-%06d.png", frame));
+            if (!ImageIO.write(image, "png", file)) {
+                throw new IOException("No PNG writer available");
+            }
+            return file;
+        }
+
+        @Override
+        public void write(Object encoded, boolean last) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * One animated GIF. Workers reduce each frame to the GIF's 256-colour
+     * palette, which is most of the cost; frames are then appended in order.
+     */
+    private static final class GifSink implements FrameSink {
+        private final ImageOutputStream output;
+        private final ImageWriter writer;
+        private final int delayCs;
+        private boolean first = true;
+
+        GifSink(Settings settings) throws IOException {
+            File file = new File(settings.out);
+            file.delete();
+            output = ImageIO.createImageOutputStream(file);
+            writer = ImageIO.getImageWritersByFormatName("gif").next();
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+            delayCs = Math.max(2, settings.tickMillis * settings.every / 10);
+        }
+
+        @Override
+        public Object encode(int frame, BufferedImage image) {
+            BufferedImage indexed = new BufferedImage(image.getWidth(), image.getHeight(),
+                    BufferedImage.TYPE_BYTE_INDEXED);
+            Graphics2D g = indexed.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            return indexed;
+        }
+
+        @Override
+        public void write(Object encoded, boolean last) throws IOException {
+            BufferedImage image = (BufferedImage) encoded;
+            IIOMetadata metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), null);
+            String format = metadata.getNativeMetadataFormatName();
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+            IIOMetadataNode control = new IIOMetadataNode("GraphicControlExtension");
+            control.setAttribute("disposalMethod", "none");
+            control.setAttribute("userInputFlag", "FALSE");
+            control.setAttribute("transparentColorFlag", "FALSE");
+            control.setAttribute("delayTime", Integer.toString(last ? GIF_END_DELAY_CS : delayCs));
+            control.setAttribute("transparentColorIndex", "0");
+            root.appendChild(control);
+
+            if (first) {
+                // Loop forever
+                IIOMetadataNode extensions = new IIOMetadataNode("ApplicationExtensions");
+                IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+                loop.setAttribute("applicationID", "NETSCAPE");
+                loop.setAttribute("authenticationCode", "2.0");
+                loop.setUserObject(new byte[] { 1, 0, 0 });
+                extensions.appendChild(loop);
+                root.appendChild(extensions);
+                first = false;
+            }
+
+            metadata.setFromTree(format, root);
+            writer.writeToSequence(new IIOImage(image, null, metadata), null);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.endWriteSequence();
+            writer.dispose();
+            output.close();
+        }
+    }
+
+    private static SnakeBot createBot(Settings settings) {
+        int width = settings.cols * GameConstants.UNIT_SIZE;
+        int height = settings.rows * GameConstants.UNIT_SIZE;
+        switch (settings.bot) {
+            case "pathfinding":
+                return new PathfindingBot(width, height, GameConstants.UNIT_SIZE);
+            case "hamiltonian":
+                return new HamiltonianBot(width, height, GameConstants.UNIT_SIZE);
+            default:
+                // MCTS moves depend on timing, so its games cannot be replayed
+                throw new IllegalArgumentException("Unknown or non-repeatable bot: " + settings.bot);
+        }
+    }
+
+    private static Settings parse(String[] args) {
+        Settings settings = new Settings();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help") || option.equals("-h")) {
+                throw new IllegalArgumentException("Snake replay exporter");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--seed":
+                        settings.seed = Long.parseLong(value);
+                        break;
+                    case "--bot":
+                        settings.bot = value;
+                        break;
+                    case "--cols":
+                        settings.cols = Integer.parseInt(value);
+                        break;
+                    case "--rows":
+                        settings.rows = Integer.parseInt(value);
+                        break;
+                    case "--tick-ms":
+                        settings.tickMillis = Integer.parseInt(value);
+                        break;
+                    case "--max-ticks":
+                        settings.maxTicks = Long.parseLong(value);
+                        break;
+                    case "--special-cooldown-ms":
+                        settings.specialCooldownMs = Integer.parseInt(value);
+                        break;
+                    case "--special-duration-ms":
+                        settings.specialDurationMs = Integer.parseInt(value);
+                        break;
+                    case "--special-score":
+                        settings.specialScore = Integer.parseInt(value);
+                        break;
+                    case "--last":
+                        settings.last = Long.parseLong(value);
+                        break;
+                    case "--every":
+                        settings.every = Integer.parseInt(value);
+                        break;
+                    case "--format":
+                        if (!value.equals("png") && !value.equals("gif")) {
+                            throw new IllegalArgumentException("Unknown format: " + value);
+                        }
+                        settings.gif = value.equals("gif");
+                        break;
+                    case "--out":
+                        settings.out = value;
+                        break;
+                    case "--threads":
+                        settings.threads = Integer.parseInt(value);
+                        break;
+                    case "--queue":
+                        settings.queue = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + option + ": " + value);
+            }
+        }
+
+        if (settings.threads < 1 || settings.every < 1 || settings.cols < 2 || settings.rows < 2) {
+            throw new IllegalArgumentException("threads, every, cols and rows must be positive");
+        }
+        if (settings.queue < 1) {
+            settings.queue = 2 * settings.threads;
+        }
+        if (settings.out == null) {
+            settings.out = settings.gif ? "replay.gif" : "replay";
+        }
+        createBot(settings);
+        return settings;
+    }
+}
@@ -0,0 +1,220 @@
+package com.game.main;
+
+import com.game.bot.InputPlanner;
+import com.game.logic.GameController;
+import com.game.net.RollbackSession;
+import com.game.utils.Direction;
+import com.game.utils.GameConstants;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Head-to-head rollback match between two processes at a fixed frame rate,
+ * with the same bots as LockstepMatch: pathfinding for the host and
+ * Hamiltonian for the peer that joined. Prints the result, rollback
+ * statistics and whether the peers stayed in sync; the self test fails
+ * unless they did while the two games came out different.
+ * Usage:
+ *   RollbackMatch host PORT [ticks] [seed] [frameMs] [inputDelay]
+ *   RollbackMatch join HOST:PORT [ticks] [frameMs]
+ *   RollbackMatch selftest [ticks] [seed] [frameMs] [latencyMs]   (both peers in this process,
+ *                                                                  linked through a delaying relay)
+ */
+public class RollbackMatch {
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "selftest";
+        switch (mode) {
+            case "host": {
+                int port = Integer.parseInt(args[1]);
+                long ticks = args.length > 2 ? Long.parseLong(args[2]) : 3_000;
+                long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+                int frameMillis = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+                int inputDelay = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+                try (ServerSocketChannel server = ServerSocketChannel.open()) {
+                    server.bind(new InetSocketAddress("127.0.0.1", port));
+                    System.out.println("Waiting for a peer on 127.0.0.1:" + port);
+                    try (SocketChannel channel = server.accept()) {
+                        channel.socket().setTcpNoDelay(true);
+                        play(RollbackSession.host(channel, seed, GameConstants.GAME_WIDTH,
+                                GameConstants.GAME_HEIGHT, GameController.DEFAULT_TICK_MILLIS, inputDelay),
+                                ticks, frameMillis);
+                    }
+                }
+                break;
+            }
+            case "join": {
+                String[] hostPort = args[1].split(":");
+                long ticks = args.length > 2 ? Long.parseLong(args[2]) : 3_000;
+                int frameMillis = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+                try (SocketChannel channel = SocketChannel.open(
+                        new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1])))) {
+                    channel.socket().setTcpNoDelay(true);
+                    play(RollbackSession.join(channel), ticks, frameMillis);
+                }
+                break;
+            }
+            case "selftest": {
+                long ticks = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+                long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+                int frameMillis = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+                int latencyMillis = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+                selfTest(ticks, seed, frameMillis, latencyMillis);
+                break;
+            }
+            default:
+                System.err.println("Unknown mode: " + mode);
+                System.exit(2);
+        }
+    }
+
+    private static void selfTest(long ticks, long seed, int frameMillis, int latencyMillis) throws Exception {
+        RollbackSession[] guestSession = new RollbackSession[1];
+        RollbackSession hostSession;
+        try (ServerSocketChannel hostServer = ServerSocketChannel.open();
+                ServerSocketChannel relayServer = ServerSocketChannel.open()) {
+            hostServer.bind(new InetSocketAddress("127.0.0.1", 0));
+            relayServer.bind(new InetSocketAddress("127.0.0.1", 0));
+            InetSocketAddress hostAddress = (InetSocketAddress) hostServer.getLocalAddress();
+            InetSocketAddress relayAddress = (InetSocketAddress) relayServer.getLocalAddress();
+
+            Thread guest = new Thread(() -> {
+                try (SocketChannel channel = SocketChannel.open(relayAddress)) {
+                    channel.socket().setTcpNoDelay(true);
+                    guestSession[0] = play(RollbackSession.join(channel), ticks, frameMillis);
+                } catch (Exception e) {
+                    System.out.println("Guest failed: " + e.getMessage());
+                }
+            }, "rollback-guest");
+            guest.start();
+
+            // The relay holds every chunk for the latency before passing it on
+            try (SocketChannel guestSide = relayServer.accept();
+                    SocketChannel hostSide = SocketChannel.open(hostAddress)) {
+                guestSide.socket().setTcpNoDelay(true);
+                hostSide.socket().setTcpNoDelay(true);
+                long latencyNanos = latencyMillis * 1_000_000L;
+                delay(guestSide, hostSide, latencyNanos);
+                delay(hostSide, guestSide, latencyNanos);
+
+                try (SocketChannel channel = hostServer.accept()) {
+                    channel.socket().setTcpNoDelay(true);
+                    hostSession = play(RollbackSession.host(channel, seed, GameConstants.GAME_WIDTH,
+                            GameConstants.GAME_HEIGHT, GameController.DEFAULT_TICK_MILLIS, 0), ticks, frameMillis);
+                }
+                guest.join();
+            }
+        }
+
+        // Both peers must agree, but on two games that went their own ways
+        RollbackSession guest = guestSession[0];
+        boolean inSync = guest != null && hostSession.getDesyncTick() < 0 && guest.getDesyncTick() < 0
+                && hostSession.getTick() == guest.getTick()
+                && hostSession.getStateHash() == guest.getStateHash();
+        boolean diverged = hostSession.getGame(0).getStateHash() != hostSession.getGame(1).getStateHash();
+        System.out.println("selftest inSync=" + inSync + " gamesDiverged=" + diverged);
+        if (!inSync || !diverged) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Forward everything read from one channel to another after a fixed
+     * delay, using a reader and a writer thread; closes the output side
+     * once the input side ends
+     */
+    private static void delay(SocketChannel from, SocketChannel to, long latencyNanos) {
+        BlockingQueue<Object[]> queue = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(4096);
+                while (from.read(buffer) >= 0) {
+                    buffer.flip();
+                    ByteBuffer chunk = ByteBuffer.allocate(buffer.remaining()).put(buffer);
+                    chunk.flip();
+                    queue.put(new Object[] {System.nanoTime() + latencyNanos, chunk});
+                    buffer.clear();
+                }
+            } catch (IOException | InterruptedException e) {
+                // Connection gone
+            }
+            queue.add(new Object[] {System.nanoTime() + latencyNanos, null});
+        }, "relay-reader");
+        Thread writer = new Thread(() -> {
+            try {
+                while (true) {
+                    Object[] entry = queue.take();
+                    long wait = (Long) entry[0] - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    ByteBuffer chunk = (ByteBuffer) entry[1];
+                    if (chunk == null) {
+                        to.shutdownOutput();
+                        return;
+                    }
+                    while (chunk.hasRemaining()) {
+                        to.write(chunk);
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // Connection gone
+            }
+        }, "relay-writer");
+        reader.setDaemon(true);
+        writer.setDaemon(true);
+        reader.start();
+        writer.start();
+    }
+
+    /**
+     * Play a fixed number of ticks at the given frame rate; each peer only
+     * decides for its own snake and only sends actual turns
+     *
+     * @return The finished session
+     */
+    private static RollbackSession play(RollbackSession session, long ticks, int frameMillis) throws Exception {
+        GameController own = session.getGame(session.getLocalIndex());
+        InputPlanner planner = new InputPlanner(LockstepMatch.createBot(session.getLocalIndex(), own), own,
+                session.getInputDelay());
+        long frameNanos = frameMillis * 1_000_000L;
+        long start = System.nanoTime();
+        long nextFrame = start;
+
+        boolean inSync = true;
+        while (inSync && session.getTick() < ticks) {
+            Direction input = planner.nextInput(own);
+            if (input != null) {
+                session.submitLocalInput(input);
+            }
+            inSync = session.step();
+
+            nextFrame += frameNanos;
+            long wait = nextFrame - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        session.finish();
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("player=" + session.getLocalIndex()
+                + " ticks=" + session.getTick()
+                + " scores=" + session.getGame(0).getScore() + ":" + session.getGame(1).getScore()
+                + " hash=" + Long.toHexString(session.getStateHash())
+                + " desyncTick=" + session.getDesyncTick()
+                + " rollbacks=" + session.getRollbacks()
+                + " replayed=" + session.getTicksReplayed()
+                + " maxDepth=" + session.getMaxRollbackDepth()
+                + " maxRollback=" + session.getMaxRollbackNanos() / 1_000 + "us"
+                + " stalls=" + session.getStalls()
+                + " time=" + elapsedMs + "ms");
+        return session;
+    }
+}
@@ -1,19 +1,97 @@
 package com.game.main;
 
 import com.game.data.PlayerData;
+import com.game.logic.ArenaController;
+import com.game.ui.ArenaPanel;
+import com.game.ui.ArenaWindow;
 import com.game.ui.LoginWindow;
 import com.game.ui.GameWindow;
+import com.game.utils.GameConstants;
 
 public class SnakeGame {
+  private static final String USAGE = "Usage: SnakeGame [--cols N] [--rows N] [--arena BOTS [--humans 0-"
+      + ArenaPanel.MAX_HUMANS + "]]";
   private static PlayerData playerData;
   private static LoginWindow loginWindow;
   private static GameWindow gameWindow;
+  private static int boardWidth = GameConstants.GAME_WIDTH;
+  private static int boardHeight = GameConstants.GAME_HEIGHT;
+  private static int arenaBots = -1;
+  private static int arenaHumans = 1;
 
   public static void main(String[] args) {
+    try {
+      parseOptions(args);
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      System.out.println(USAGE);
+      System.exit(2);
+    }
+    if (arenaBots >= 0) {
+      showArenaWindow();
+      return;
+    }
     playerData = new PlayerData();
     showLoginWindow();
   }
 
+  /**
+   * Read optional settings:
+   * --cols N --rows N chooses the board size in cells. Boards larger than
+   * the window are shown through a camera that follows the snake.
+   * --arena BOTS [--humans H] starts a local arena instead of the normal
+   * game, with H players (0-2, default 1) sharing the keyboard.
+   */
+  private static void parseOptions(String[] args) {
+    for (int i = 0; i < args.length; i += 2) {
+      String option = args[i];
+      switch (option) {
+        case "--cols":
+          boardWidth = cells(option, value(args, i)) * GameConstants.UNIT_SIZE;
+          break;
+        case "--rows":
+          boardHeight = cells(option, value(args, i)) * GameConstants.UNIT_SIZE;
+          break;
+        case "--arena":
+          arenaBots = Math.max(0, value(args, i));
+          break;
+        case "--humans":
+          arenaHumans = value(args, i);
+          if (arenaHumans < 0 || arenaHumans > ArenaPanel.MAX_HUMANS) {
+            throw new IllegalArgumentException(option + " must be 0 to " + ArenaPanel.MAX_HUMANS);
+          }
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option: " + option);
+      }
+    }
+  }
+
+  private static int value(String[] args, int i) {
+    if (i + 1 >= args.length) {
+      throw new IllegalArgumentException("Missing value for " + args[i]);
+    }
+    try {
+      return Integer.parseInt(args[i + 1]);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid number for " + args[i] + ": " + args[i + 1]);
+    }
+  }
+
+  private static int cells(String option, int cells) {
+    if (cells < 2) {
+      throw new IllegalArgumentException(option + " must be at least 2");
+    }
+    return cells;
+  }
+
+  private static void showArenaWindow() {
+    int snakes = Math.max(1, arenaHumans + arenaBots);
+    ArenaController arena = new ArenaController(boardWidth, boardHeight, snakes,
+        Math.max(1, snakes / 2), System.nanoTime());
+    new ArenaWindow(arena, arenaHumans);
+  }
+
   private static void showLoginWindow() {
     if (gameWindow != null) {
       gameWindow = null;
@@ -29,8 +107,8 @@ public class SnakeGame {
       loginWindow = null;
     }
 
-    gameWindow = new GameWindow(playerData, () -> {
+    gameWindow = new GameWindow(playerData, boardWidth, boardHeight, () -> {
       showLoginWindow();
     });
   }
-}
\ No newline at end of file
+}
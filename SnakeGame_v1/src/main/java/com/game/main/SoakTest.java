@@ -0,0 +1,188 @@
+package com.game.main;
+
+import com.game.logic.GameController;
+import com.game.ui.GamePanel;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Soak test for thread and timer leaks: plays, pauses, changes speed,
+ * restarts and logs out of many game panels in turn on the event dispatch
+ * thread, the way a long-running kiosk would. After every interval it
+ * collects garbage and counts live threads and the panels still reachable;
+ * a panel whose game timer was left running is kept alive by the Swing
+ * timer queue, so any growth in either count is a leak. Exits with status 1
+ * if anything grew after the first interval. Runs headless.
+ * Usage: SoakTest [cycles] [ticksPerCycle] [reportEvery] [seed]
+ */
+public class SoakTest {
+    private static final int WIDTH = GameConstants.GAME_WIDTH;
+    private static final int HEIGHT = GameConstants.GAME_HEIGHT;
+
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int ticksPerCycle = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int reportEvery = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+
+        List<WeakReference<GamePanel>> panels = new ArrayList<>();
+        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Map<String, Integer> baseline = null;
+        int baselinePanels = 0;
+        boolean leaked = false;
+        long start = System.nanoTime();
+
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            long cycleSeed = seed + cycle;
+            SwingUtilities.invokeAndWait(() -> panels.add(new WeakReference<>(playOnce(cycleSeed, ticksPerCycle, frame))));
+
+            if ((cycle + 1) % reportEvery != 0 && cycle != cycles - 1) {
+                continue;
+            }
+            Map<String, Integer> threads = liveThreads();
+            int retained = retainedPanels(panels);
+            int runningTimers = runningTimers(panels);
+            System.out.println("cycles=" + (cycle + 1)
+                    + " threads=" + total(threads)
+                    + " retainedPanels=" + retained
+                    + " runningTimers=" + runningTimers
+                    + " time=" + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+            if (baseline == null) {
+                // The first interval starts the event dispatch thread, the
+                // Swing timer queue and the log writer; later ones should not
+                // add anything
+                baseline = threads;
+                baselinePanels = retained;
+                continue;
+            }
+            for (Map.Entry<String, Integer> entry : threads.entrySet()) {
+                int before = baseline.getOrDefault(entry.getKey(), 0);
+                if (entry.getValue() > before) {
+                    System.out.println("  LEAK: " + (entry.getValue() - before) + " more thread(s) named "
+                            + entry.getKey() + "*");
+                    leaked = true;
+                }
+            }
+            if (retained > baselinePanels || runningTimers > 0) {
+                System.out.println("  LEAK: " + retained + " panels still reachable after logout, "
+                        + runningTimers + " with a running timer");
+                leaked = true;
+            }
+        }
+
+        if (leaked) {
+            System.out.println("FAILED: threads or timers grew during the soak test");
+            System.exit(1);
+        }
+        System.out.println("No thread or timer growth after " + cycles + " cycles");
+        System.exit(0);
+    }
+
+    /**
+     * Log in, play, pause, change speed, restart, play again and log out of
+     * one game panel. Must run on the event dispatch thread.
+     *
+     * @param seed  Seed for the game
+     * @param ticks Ticks to play before and after the restart
+     * @param frame Image the panel is painted into
+     * @return The panel, which should be unreachable once the caller drops it
+     */
+    private static GamePanel playOnce(long seed, int ticks, BufferedImage frame) {
+        GamePanel panel = new GamePanel(new GameController(null, seed, WIDTH, HEIGHT), () -> { });
+        panel.setSize(WIDTH, HEIGHT);
+        panel.toggleAutopilot();
+
+        play(panel, ticks);
+        panel.togglePause();
+        panel.setGameSpeed(100);
+        panel.startRewind();
+        panel.stopRewind();
+        panel.restartGame();
+        play(panel, ticks);
+
+        Graphics2D g = frame.createGraphics();
+        panel.paint(g);
+        g.dispose();
+
+        panel.getGameController().checkAndUpdateHighScore();
+        panel.cleanUp();
+        return panel;
+    }
+
+    private static void play(GamePanel panel, int ticks) {
+        for (int i = 0; i < ticks && panel.getGameController().getGameState() == GameState.RUNNING; i++) {
+            panel.actionPerformed(null);
+        }
+    }
+
+    /**
+     * Count live threads by name, with trailing digits removed so that
+     * numbered threads such as "Timer-3" are grouped together
+     *
+     * @return Thread count per name prefix
+     */
+    private static Map<String, Integer> liveThreads() {
+        collectGarbage();
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive()) {
+                counts.merge(thread.getName().replaceAll("[0-9]+$", ""), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static int total(Map<String, Integer> counts) {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Count the panels that are still reachable, dropping the cleared ones
+     *
+     * @param panels Weak references to every panel played so far
+     * @return Panels not yet collected
+     */
+    private static int retainedPanels(List<WeakReference<GamePanel>> panels) {
+        collectGarbage();
+        panels.removeIf(ref -> ref.get() == null);
+        return panels.size();
+    }
+
+    private static int runningTimers(List<WeakReference<GamePanel>> panels) {
+        int running = 0;
+        for (WeakReference<GamePanel> ref : panels) {
+            GamePanel panel = ref.get();
+            if (panel != null && panel.isTimerRunning()) {
+                running++;
+            }
+        }
+        return running;
+    }
+
+    private static void collectGarbage() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.game.main;
+
+import com.game.bot.BotRunner;
+import com.game.bot.HamiltonianBot;
+import com.game.bot.MonteCarloBot;
+import com.game.bot.PathfindingBot;
+import com.game.bot.SnakeBot;
+import com.game.bot.SnakeBotProvider;
+import com.game.log.Log;
+import com.game.logic.GameController;
+import com.game.ui.TerminalRenderer;
+import com.game.utils.Direction;
+import com.game.utils.GameConstants;
+import com.game.utils.GameState;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text-mode front end for machines without a display, e.g. over SSH:
+ * draws the game with ANSI escapes through TerminalRenderer and reads keys
+ * from stdin in raw mode. Only the game loop thread touches the game; a
+ * reader thread turns key bytes into commands for it, the way the game
+ * server's clients steer through its selector thread.
+ *
+ * Keys: arrows or WASD steer, space pauses (or starts a new game after game
+ * over), p toggles the bot, 1-4 set the speed, q or Ctrl-C quits. With
+ * --bot the bot plays from the start, which is the cheapest way to watch one;
+ * plugin bots (see SnakeBotProvider) get half a tick per move.
+ * The board defaults to the largest one, up to 30 x 30, that fits the terminal.
+ * Usage: TerminalGame [--cols C] [--rows R] [--tick-ms MS] [--bot NAME] [--seed S]
+ */
+public class TerminalGame {
+    private static final Log LOG = Log.get(TerminalGame.class);
+    private static final String USAGE = "Usage: TerminalGame [--cols C] [--rows R] [--tick-ms MS]"
+            + " [--bot pathfinding|hamiltonian|mcts|plugin name] [--seed S]";
+    private static final int MAX_CELLS = GameConstants.GAME_WIDTH / GameConstants.UNIT_SIZE;
+    private static final int[] SPEEDS = { 300, 200, 100, 50 };
+
+    private enum Command { UP, DOWN, LEFT, RIGHT, PAUSE, BOT, SPEED_1, SPEED_2, SPEED_3, SPEED_4, QUIT }
+
+    private final GameController game;
+    private final TerminalRenderer renderer;
+    private final SnakeBot bot;
+    private final BlockingQueue<Command> commands = new ArrayBlockingQueue<>(64);
+    private boolean botPlaying;
+    private long frames;
+
+    private TerminalGame(GameController game, SnakeBot bot, boolean botPlaying, int columns) {
+        this.game = game;
+        this.bot = bot;
+        this.botPlaying = botPlaying;
+        this.renderer = new TerminalRenderer(game, System.out, columns);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int[] size = terminalSize();
+        int cols = Math.max(4, Math.min(MAX_CELLS, size[1] / 2));
+        int rows = Math.max(4, Math.min(MAX_CELLS, size[0] - 2));
+        int tickMillis = GameController.DEFAULT_TICK_MILLIS;
+        String botName = null;
+        Long seed = null;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--cols":
+                        cols = Integer.parseInt(value);
+                        break;
+                    case "--rows":
+                        rows = Integer.parseInt(value);
+                        break;
+                    case "--tick-ms":
+                        tickMillis = Integer.parseInt(value);
+                        break;
+                    case "--bot":
+                        botName = value;
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (cols < 2 || rows < 2) {
+                throw new IllegalArgumentException("cols and rows must be at least 2");
+            }
+            if (tickMillis < 1) {
+                throw new IllegalArgumentException("tick-ms must be at least 1");
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number: " + e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+        }
+
+        int width = cols * GameConstants.UNIT_SIZE;
+        int height = rows * GameConstants.UNIT_SIZE;
+        GameController game = seed != null
+                ? new GameController(null, seed, width, height)
+                : new GameController(null, width, height);
+        game.setTickMillis(tickMillis);
+        BotRunner runner = new BotRunner(1, 1);
+        SnakeBot bot;
+        try {
+            bot = createBot(botName == null ? "pathfinding" : botName, cols, rows, runner, Math.max(1, tickMillis / 2));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        String savedMode = enterRawMode();
+        Runnable restore = () -> restoreMode(savedMode);
+        Thread restoreHook = new Thread(restore, "terminal-restore");
+        Runtime.getRuntime().addShutdownHook(restoreHook);
+        TerminalGame terminalGame = new TerminalGame(game, bot, botName != null, size[1]);
+        try {
+            terminalGame.run();
+        } finally {
+            terminalGame.renderer.close();
+            restore.run();
+            Runtime.getRuntime().removeShutdownHook(restoreHook);
+            runner.close();
+            if (bot instanceof MonteCarloBot) {
+                ((MonteCarloBot) bot).shutdown();
+            }
+        }
+        System.out.println("Score " + game.getScore() + ", " + terminalGame.frames + " frames, "
+                + terminalGame.renderer.getBytesWritten() / Math.max(1, terminalGame.frames) + " bytes per frame");
+        System.exit(0);
+    }
+
+    /**
+     * Play until the player quits: tick on schedule and handle commands as
+     * they arrive in between
+     */
+    private void run() throws IOException, InterruptedException {
+        Thread reader = new Thread(this::readKeys, "terminal-input");
+        reader.setDaemon(true);
+        reader.start();
+
+        long tickNanos = game.getTickMillis() * 1_000_000L;
+        long nextTick = System.nanoTime() + tickNanos;
+        draw();
+        while (true) {
+            long waitNanos = nextTick - System.nanoTime();
+            Command command = waitNanos > 0 ? commands.poll(waitNanos, TimeUnit.NANOSECONDS) : commands.poll();
+            if (command == Command.QUIT) {
+                return;
+            }
+            if (command != null) {
+                handle(command);
+                tickNanos = game.getTickMillis() * 1_000_000L;
+                draw();
+            }
+
+            long now = System.nanoTime();
+            if (now - nextTick >= 0) {
+                if (game.getGameState() == GameState.RUNNING) {
+                    if (botPlaying) {
+                        game.setDirection(bot.nextDirection(game));
+                    }
+                    game.update();
+                    draw();
+                }
+                nextTick += tickNanos;
+                // After a long stall, resume the schedule instead of replaying missed ticks
+                if (now - nextTick > tickNanos) {
+                    nextTick = now + tickNanos;
+                }
+            }
+        }
+    }
+
+    private void handle(Command command) {
+        GameState state = game.getGameState();
+        switch (command) {
+            case UP:
+                game.setDirection(Direction.UP);
+                break;
+            case DOWN:
+                game.setDirection(Direction.DOWN);
+                break;
+            case LEFT:
+                game.setDirection(Direction.LEFT);
+                break;
+            case RIGHT:
+                game.setDirection(Direction.RIGHT);
+                break;
+            case PAUSE:
+                if (state == GameState.GAME_OVER) {
+                    game.checkAndUpdateHighScore();
+                    game.resetGame();
+                } else if (state == GameState.PAUSED) {
+                    game.setGameState(GameState.RUNNING);
+                } else {
+                    game.setGameState(GameState.PAUSED);
+                }
+                break;
+            case BOT:
+                botPlaying = !botPlaying;
+                break;
+            case SPEED_1:
+            case SPEED_2:
+            case SPEED_3:
+            case SPEED_4:
+                game.setTickMillis(SPEEDS[command.ordinal() - Command.SPEED_1.ordinal()]);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void draw() throws IOException {
+        frames++;
+        renderer.render(game, status());
+    }
+
+    private String status() {
+        StringBuilder status = new StringBuilder(80);
+        status.append("Score: ").append(game.getScore())
+                .append("  High: ").append(Math.max(game.getHighScore(), game.getScore()))
+                .append("  Length: ").append(game.getSnake().getLength())
+                .append("  Tick: ").append(game.getTickMillis()).append("ms");
+        if (botPlaying) {
+            status.append("  [bot]");
+        }
+        GameState state = game.getGameState();
+        if (state == GameState.PAUSED) {
+            status.append("  PAUSED - space to resume, q to quit");
+        } else if (state == GameState.GAME_OVER) {
+            status.append(game.isBoardFull() ? "  BOARD FULL" : "  GAME OVER")
+                    .append(" - space for a new game, q to quit");
+        }
+        return status.toString();
+    }
+
+    /**
+     * Turn stdin bytes into commands until stdin ends, which quits.
+     * Arrow keys arrive as ESC [ A..D, or ESC O A..D in application mode.
+     */
+    private void readKeys() {
+        InputStream in = System.in;
+        try {
+            int escape = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (escape == 1) {
+                    escape = b == '[' || b == 'O' ? 2 : 0;
+                    continue;
+                }
+                if (escape == 2) {
+                    escape = 0;
+                    offer(b == 'A' ? Command.UP : b == 'B' ? Command.DOWN
+                            : b == 'C' ? Command.RIGHT : b == 'D' ? Command.LEFT : null);
+                    continue;
+                }
+                switch (Character.toLowerCase(b)) {
+                    case 0x1b:
+                        escape = 1;
+                        break;
+                    case 'w':
+                        offer(Command.UP);
+                        break;
+                    case 's':
+                        offer(Command.DOWN);
+                        break;
+                    case 'a':
+                        offer(Command.LEFT);
+                        break;
+                    case 'd':
+                        offer(Command.RIGHT);
+                        break;
+                    case ' ':
+                        offer(Command.PAUSE);
+                        break;
+                    case 'p':
+                        offer(Command.BOT);
+                        break;
+                    case '1':
+                        offer(Command.SPEED_1);
+                        break;
+                    case '2':
+                        offer(Command.SPEED_2);
+                        break;
+                    case '3':
+                        offer(Command.SPEED_3);
+                        break;
+                    case '4':
+                        offer(Command.SPEED_4);
+                        break;
+                    case 'q':
+                    case 3: // Ctrl-C, which raw mode delivers as a byte
+                    case 4: // Ctrl-D
+                        offer(Command.QUIT);
+                        return;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Terminal input stopped: {}", e.getMessage());
+        }
+        offer(Command.QUIT);
+    }
+
+    private void offer(Command command) {
+        // A full queue means the game is far behind; dropping keys beats blocking
+        if (command != null && !commands.offer(command)) {
+            LOG.debug("Dropped key command {}", command);
+        }
+    }
+
+    private static SnakeBot createBot(String name, int cols, int rows, BotRunner runner, long budgetMillis) {
+        int width = cols * GameConstants.UNIT_SIZE;
+        int height = rows * GameConstants.UNIT_SIZE;
+        switch (name) {
+            case "pathfinding":
+                return new PathfindingBot(width, height, GameConstants.UNIT_SIZE);
+            case "hamiltonian":
+                return new HamiltonianBot(width, height, GameConstants.UNIT_SIZE);
+            case "mcts":
+                return new MonteCarloBot(5);
+            default:
+                SnakeBotProvider provider = BotRunner.findProvider(name);
+                if (provider == null) {
+                    throw new IllegalArgumentException("Unknown bot: " + name
+                            + " (plugins: " + BotRunner.providerNames() + ")");
+                }
+                return runner.timed(name, provider.create(cols, rows), budgetMillis);
+        }
+    }
+
+    /**
+     * Ask stty for the terminal size
+     *
+     * @return {rows, columns}, or 24 x 80 when stdin is not a terminal
+     */
+    private static int[] terminalSize() {
+        String size = stty("size");
+        if (size != null) {
+            String[] parts = size.trim().split("\\s+");
+            if (parts.length == 2) {
+                try {
+                    return new int[] { Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) };
+                } catch (NumberFormatException e) {
+                    LOG.debug("Unexpected stty size output: {}", size);
+                }
+            }
+        }
+        return new int[] { 24, 80 };
+    }
+
+    /**
+     * Switch the terminal to raw mode without echo, so keys arrive one at a
+     * time as they are pressed
+     *
+     * @return Previous settings to restore, or null if stdin is not a terminal
+     */
+    private static String enterRawMode() {
+        if (System.console() == null) {
+            LOG.warn("stdin is not a terminal; keys are only read after Enter");
+            return null;
+        }
+        String saved = stty("-g");
+        if (saved == null || stty("raw -echo") == null) {
+            LOG.warn("Could not switch the terminal to raw mode");
+            return null;
+        }
+        return saved.trim();
+    }
+
+    private static void restoreMode(String savedMode) {
+        if (savedMode != null) {
+            stty(savedMode);
+        }
+    }
+
+    /**
+     * Run stty on the controlling terminal
+     *
+     * @param arguments stty arguments
+     * @return stty's output, or null if it failed
+     */
+    private static String stty(String arguments) {
+        try {
+            Process process = new ProcessBuilder("sh", "-c", "stty " + arguments + " < /dev/tty")
+                    .redirectErrorStream(true)
+                    .start();
+            StringBuilder output = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    output.append(line).append('\n');
+                }
+            }
+            return process.waitFor() == 0 ? output.toString() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
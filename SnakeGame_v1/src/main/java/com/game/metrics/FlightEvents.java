@@ -0,0 +1,41 @@
+package com.game.metrics;
+
+/**
+ * Java Flight Recorder support for the game's own events (TickEvent,
+ * RenderEvent, SavePlayersEvent, LoadPlayersEvent and the special food
+ * events). Call sites only create events while isRecording(), so runtimes
+ * without the jdk.jfr module, such as jlink images built without it, still
+ * run the game, and runs without a recording neither allocate events nor
+ * pay for them, even on cold paths that the JIT does not optimise.
+ *
+ * Record a session with, for example:
+ *   java -XX:StartFlightRecording=filename=snake.jfr -jar snake-game-1.0.0.jar
+ */
+public final class FlightEvents {
+    /** Category shown for every game event in JDK Mission Control */
+    static final String CATEGORY = "Snake Game";
+
+    /** True if this runtime includes the jdk.jfr module */
+    public static final boolean AVAILABLE = isAvailable();
+
+    private FlightEvents() {
+    }
+
+    /**
+     * Check if events should be created at all
+     *
+     * @return true once Flight Recorder has been started in this JVM
+     */
+    public static boolean isRecording() {
+        return AVAILABLE && jdk.jfr.FlightRecorder.isInitialized();
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.game.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of non-negative long values, usually nanoseconds.
+ * Values below SUB_BUCKETS get a bucket each; above that every power of two
+ * is split into SUB_BUCKETS equal buckets, so any recorded value is known
+ * to within about 3% across the whole range.
+ *
+ * Recording is lock-free and allocation free: one bucket increment plus
+ * count, sum and max updates on atomics. Readers may run concurrently and
+ * see a slightly stale but consistent-enough picture.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values of 2^MAX_BITS and above (about 18 minutes in nanoseconds) share the top bucket
+    private static final int MAX_BITS = 40;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_BITS - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Create an empty histogram; usually done through MetricsRegistry
+     *
+     * @param name Metric name used in exports and the overlay
+     */
+    public Histogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record one value; negative values count as 0
+     *
+     * @param value Value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Lost a race with another writer; try again with its value
+        }
+    }
+
+    /**
+     * Get the value below which the given share of recorded values fall
+     *
+     * @param percentile Percentile from 0 to 100
+     * @return Highest value of the bucket holding that percentile, capped at
+     *         the maximum recorded value; 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Forget every recorded value. Values recorded while resetting may be
+     * partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (shift >= MAX_BITS - SUB_BUCKET_BITS) {
+            return BUCKETS - 1;
+        }
+        // value >>> shift lies in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    // Getters
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the mean of all recorded values
+     *
+     * @return Mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long total = count.get();
+        return total == 0 ? 0 : (double) sum.get() / total;
+    }
+}
@@ -0,0 +1,82 @@
+package com.game.metrics;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * The most recent input-to-photon samples, one per key press that reached
+ * the screen, split into the stages a press goes through. Samples are kept
+ * in preallocated arrays so recording never allocates; writeCsv copies them
+ * out for offline analysis. Used from the event dispatch thread only.
+ */
+public class InputLatencyLog {
+    private final long[] pressedAt;
+    private final long[] dispatch;
+    private final long[] tick;
+    private final long[] paint;
+    private final int[] delay;
+    private long count;
+
+    /**
+     * Create a log that keeps the given number of latest samples
+     *
+     * @param capacity Samples kept
+     */
+    public InputLatencyLog(int capacity) {
+        pressedAt = new long[capacity];
+        dispatch = new long[capacity];
+        tick = new long[capacity];
+        paint = new long[capacity];
+        delay = new int[capacity];
+    }
+
+    /**
+     * Record one key press that has been painted
+     *
+     * @param pressedNanos  System.nanoTime when the key listener saw the press
+     * @param dispatchNanos Time from the key event's timestamp to the listener
+     * @param tickNanos     Time from the listener to the end of the tick that applied the press
+     * @param paintNanos    Time from that tick to the end of the first paint after it
+     * @param tickMillis    Game timer delay at the time
+     */
+    public void record(long pressedNanos, long dispatchNanos, long tickNanos, long paintNanos, int tickMillis) {
+        int i = (int) (count++ % pressedAt.length);
+        pressedAt[i] = pressedNanos;
+        dispatch[i] = dispatchNanos;
+        tick[i] = tickNanos;
+        paint[i] = paintNanos;
+        delay[i] = tickMillis;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Write the kept samples, oldest first, with times in microseconds and
+     * the press time relative to the first kept sample
+     *
+     * @param fileName File to write
+     * @throws IOException If the file cannot be written
+     */
+    public void writeCsv(String fileName) throws IOException {
+        int kept = (int) Math.min(count, pressedAt.length);
+        int first = (int) ((count - kept) % pressedAt.length);
+        long origin = kept > 0 ? pressedAt[first] : 0;
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(fileName))) {
+            bw.write("pressed_ms,tick_delay_ms,dispatch_us,tick_us,paint_us,total_us");
+            bw.newLine();
+            for (int n = 0; n < kept; n++) {
+                int i = (first + n) % pressedAt.length;
+                bw.write((pressedAt[i] - origin) / 1_000_000
+                        + "," + delay[i]
+                        + "," + dispatch[i] / 1000
+                        + "," + tick[i] / 1000
+                        + "," + paint[i] / 1000
+                        + "," + (dispatch[i] + tick[i] + paint[i]) / 1000);
+                bw.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading the player file. Only create it while FlightEvents.isRecording().
+ */
+@Name("com.game.LoadPlayers")
+@Label("Load Players")
+@Category({FlightEvents.CATEGORY, "Persistence"})
+public class LoadPlayersEvent extends jdk.jfr.Event {
+    @Label("Player Count")
+    int playerCount;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Create an event and start timing it
+     *
+     * @return Started event
+     */
+    public static LoadPlayersEvent start() {
+        LoadPlayersEvent event = new LoadPlayersEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit, if the event is being recorded
+     *
+     * @param playerCount Players read
+     * @param bytesRead   Size of the file read
+     * @param succeeded   false if reading failed
+     */
+    public void complete(int playerCount, long bytesRead, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.playerCount = playerCount;
+            this.bytesRead = bytesRead;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
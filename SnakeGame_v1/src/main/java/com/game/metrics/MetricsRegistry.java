@@ -0,0 +1,120 @@
+package com.game.metrics;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Named latency histograms, all in nanoseconds. Histograms are created once
+ * up front and kept in fields by the code that records into them, so the
+ * hot path never looks anything up.
+ */
+public class MetricsRegistry {
+    /** Duration of GameController.update on the game timer */
+    public static final String TICK_UPDATE = "tick.update";
+    /** Duration of GamePanel.paintComponent */
+    public static final String FRAME_PAINT = "frame.paint";
+    /** Time from a key press to the tick that applies it */
+    public static final String INPUT_LATENCY = "input.latency";
+    /** Difference between the actual and the scheduled time between ticks */
+    public static final String TICK_JITTER = "tick.jitter";
+    /** Time from the key event's own timestamp to the key listener, in whole milliseconds */
+    public static final String INPUT_DISPATCH = "input.dispatch";
+    /** Time from the tick that applies a key press to the end of the first paint after it */
+    public static final String INPUT_PAINT = "input.paint";
+    /** Time from the key event's timestamp to the end of the first paint showing it */
+    public static final String INPUT_PHOTON = "input.photon";
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final List<Histogram> histograms = new ArrayList<>();
+
+    /**
+     * Get the registry shared by the game UI
+     *
+     * @return Default registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the histogram with the given name, creating it on first use
+     *
+     * @param name Metric name
+     * @return Histogram for that name
+     */
+    public synchronized Histogram histogram(String name) {
+        for (Histogram histogram : histograms) {
+            if (histogram.getName().equals(name)) {
+                return histogram;
+            }
+        }
+        Histogram histogram = new Histogram(name);
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    /**
+     * Get every histogram in the order they were created
+     *
+     * @return Copy of the histogram list
+     */
+    public synchronized List<Histogram> getHistograms() {
+        return new ArrayList<>(histograms);
+    }
+
+    public void resetAll() {
+        for (Histogram histogram : getHistograms()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Write one CSV row per histogram with its count, mean, percentiles and
+     * maximum, all in microseconds
+     *
+     * @param fileName File to write
+     * @throws IOException If the file cannot be written
+     */
+    public void exportCsv(String fileName) throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(fileName))) {
+            bw.write("metric,count,mean_us,p50_us,p90_us,p99_us,p99.9_us,max_us");
+            bw.newLine();
+            for (Histogram histogram : getHistograms()) {
+                StringBuilder row = new StringBuilder(histogram.getName())
+                        .append(',').append(histogram.getCount())
+                        .append(',').append(micros(histogram.getMean()));
+                for (double percentile : PERCENTILES) {
+                    row.append(',').append(micros(histogram.getValueAtPercentile(percentile)));
+                }
+                row.append(',').append(micros(histogram.getMax()));
+                bw.write(row.toString());
+                bw.newLine();
+            }
+        }
+    }
+
+    /**
+     * Format a histogram as one short line, for overlays and logs
+     *
+     * @param histogram Histogram to describe
+     * @return For example "tick.update n=120 p50=35us p99=80us max=210us"
+     */
+    public static String summary(Histogram histogram) {
+        return histogram.getName()
+                + " n=" + histogram.getCount()
+                + " p50=" + micros(histogram.getValueAtPercentile(50)) + "us"
+                + " p99=" + micros(histogram.getValueAtPercentile(99)) + "us"
+                + " max=" + micros(histogram.getMax()) + "us";
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
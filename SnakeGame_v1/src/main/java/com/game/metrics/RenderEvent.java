@@ -0,0 +1,62 @@
+package com.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One paint of the game panel. Only create it while FlightEvents.isRecording().
+ */
+@Name("com.game.Render")
+@Label("Render")
+@Category({FlightEvents.CATEGORY, "Rendering"})
+@Description("One paintComponent call of the game panel")
+@StackTrace(false)
+public class RenderEvent extends jdk.jfr.Event {
+    @Label("Snake Length")
+    int snakeLength;
+
+    @Label("Clip Width")
+    @Description("Width of the dirty region Swing asked to repaint")
+    int clipWidth;
+
+    @Label("Clip Height")
+    @Description("Height of the dirty region Swing asked to repaint")
+    int clipHeight;
+
+    @Label("Quality")
+    @Description("Render quality the frame was drawn with")
+    String quality;
+
+    /**
+     * Create an event and start timing it
+     *
+     * @return Started event
+     */
+    public static RenderEvent start() {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit, if the event is being recorded
+     *
+     * @param snakeLength Snake length drawn
+     * @param clipWidth   Width of the repainted region, or 0 if unknown
+     * @param clipHeight  Height of the repainted region, or 0 if unknown
+     * @param quality     Render quality name
+     */
+    public void complete(int snakeLength, int clipWidth, int clipHeight, String quality) {
+        end();
+        if (shouldCommit()) {
+            this.snakeLength = snakeLength;
+            this.clipWidth = clipWidth;
+            this.clipHeight = clipHeight;
+            this.quality = quality;
+            commit();
+        }
+    }
+}
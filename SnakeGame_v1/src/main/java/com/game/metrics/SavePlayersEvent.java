@@ -0,0 +1,52 @@
+package com.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Writing the player file. Only create it while FlightEvents.isRecording().
+ */
+@Name("com.game.SavePlayers")
+@Label("Save Players")
+@Category({FlightEvents.CATEGORY, "Persistence"})
+public class SavePlayersEvent extends jdk.jfr.Event {
+    @Label("Player Count")
+    int playerCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Create an event and start timing it
+     *
+     * @return Started event
+     */
+    public static SavePlayersEvent start() {
+        SavePlayersEvent event = new SavePlayersEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit, if the event is being recorded
+     *
+     * @param playerCount  Players written
+     * @param bytesWritten Size of the file written
+     * @param succeeded    false if writing failed
+     */
+    public void complete(int playerCount, long bytesWritten, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.playerCount = playerCount;
+            this.bytesWritten = bytesWritten;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
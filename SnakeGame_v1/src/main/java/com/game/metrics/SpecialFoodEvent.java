@@ -0,0 +1,52 @@
+package com.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Special food appearing or disappearing. Instant event; only emit it while
+ * FlightEvents.isRecording().
+ */
+@Name("com.game.SpecialFood")
+@Label("Special Food")
+@Category({FlightEvents.CATEGORY, "Game Loop"})
+@StackTrace(false)
+public class SpecialFoodEvent extends jdk.jfr.Event {
+    @Label("Action")
+    @Description("spawn or disappear")
+    String action;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Remaining Time")
+    @Description("Existence time left; above zero on disappear means it was eaten")
+    @Timespan(Timespan.MILLISECONDS)
+    long remainingMillis;
+
+    /**
+     * Commit an instant event, if special food events are being recorded
+     *
+     * @param action          "spawn" or "disappear"
+     * @param x               Food x position in pixels
+     * @param y               Food y position in pixels
+     * @param remainingMillis Existence time left in game milliseconds
+     */
+    public static void emit(String action, int x, int y, long remainingMillis) {
+        SpecialFoodEvent event = new SpecialFoodEvent();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.x = x;
+            event.y = y;
+            event.remainingMillis = remainingMillis;
+            event.commit();
+        }
+    }
+}
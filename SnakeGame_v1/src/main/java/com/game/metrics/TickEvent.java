@@ -0,0 +1,61 @@
+package com.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One game tick on the UI timer, from before the autopilot decides to after
+ * GameController.update. Only create it while FlightEvents.isRecording().
+ */
+@Name("com.game.Tick")
+@Label("Game Tick")
+@Category({FlightEvents.CATEGORY, "Game Loop"})
+@Description("One update of the game state")
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+    @Label("Snake Length")
+    int snakeLength;
+
+    @Label("Score")
+    int score;
+
+    @Label("Tick Millis")
+    @Description("Scheduled time between ticks")
+    int tickMillis;
+
+    @Label("Rewinding")
+    boolean rewinding;
+
+    /**
+     * Create an event and start timing it
+     *
+     * @return Started event
+     */
+    public static TickEvent start() {
+        TickEvent event = new TickEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit, if the event is being recorded
+     *
+     * @param snakeLength Snake length after the tick
+     * @param score       Score after the tick
+     * @param tickMillis  Scheduled time between ticks
+     * @param rewinding   true if the tick stepped back instead of forward
+     */
+    public void complete(int snakeLength, int score, int tickMillis, boolean rewinding) {
+        end();
+        if (shouldCommit()) {
+            this.snakeLength = snakeLength;
+            this.score = score;
+            this.tickMillis = tickMillis;
+            this.rewinding = rewinding;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.game.net;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes each tick as a delta against the tick before it: the cells pushed
+ * at the head, how many tails were popped, and whichever of score, food,
+ * special food, direction and game state changed. A normal move costs a
+ * couple of dozen bytes regardless of the snake's length.
+ *
+ * The encoder remembers only scalars from the previous tick; head cells
+ * are recovered from the snake itself through its head serial.
+ */
+public class DeltaEncoder {
+    private boolean primed;
+    private int headSerial;
+    private int length;
+    private int score;
+    private int foodCell;
+    private int specialFoodCell;
+    private int gameState;
+    private int direction;
+
+    /**
+     * Write a delta from the last encoded tick to the game's current state,
+     * then remember the current state as the new base.
+     * Returns false, writing nothing, when there is no base yet or the
+     * change is too large for a delta; send a keyframe instead.
+     *
+     * @param buffer Buffer with at least Protocol.MAX_DELTA_SIZE bytes remaining
+     * @param tick   Server tick number
+     * @param game   Game to encode
+     * @return true if a delta frame was written
+     */
+    public boolean writeDelta(ByteBuffer buffer, long tick, GameController game) {
+        Snake snake = game.getSnake();
+        int headsAdded = snake.getHeadSerial() - headSerial;
+        int tailsRemoved = length + headsAdded - snake.getLength();
+        boolean encodable = primed
+                && headsAdded >= 0 && headsAdded <= Protocol.MAX_DELTA_HEADS && headsAdded <= snake.getLength()
+                && tailsRemoved >= 0 && tailsRemoved <= Protocol.MAX_DELTA_TAILS;
+        if (!encodable) {
+            remember(game);
+            return false;
+        }
+
+        int flags = 0;
+        int newGameState = game.getGameState().ordinal();
+        int newScore = game.getScore();
+        int newDirection = snake.getDirection().ordinal();
+        int newFoodCell = Protocol.foodCell(game);
+        int newSpecialFoodCell = Protocol.specialFoodCell(game);
+        if (newGameState != gameState) {
+            flags |= Protocol.DELTA_STATE;
+        }
+        if (newScore != score) {
+            flags |= Protocol.DELTA_SCORE;
+        }
+        if (newDirection != direction) {
+            flags |= Protocol.DELTA_DIRECTION;
+        }
+        if (newFoodCell != foodCell) {
+            flags |= Protocol.DELTA_FOOD;
+        }
+        if (newSpecialFoodCell != specialFoodCell) {
+            flags |= Protocol.DELTA_SPECIAL_FOOD;
+        }
+
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(Protocol.DELTA);
+        buffer.putLong(tick);
+        buffer.put((byte) flags);
+        if ((flags & Protocol.DELTA_STATE) != 0) {
+            buffer.put((byte) newGameState);
+        }
+        if ((flags & Protocol.DELTA_SCORE) != 0) {
+            buffer.putInt(newScore);
+        }
+        if ((flags & Protocol.DELTA_DIRECTION) != 0) {
+            buffer.put((byte) newDirection);
+        }
+        if ((flags & Protocol.DELTA_FOOD) != 0) {
+            buffer.putInt(newFoodCell);
+        }
+        if ((flags & Protocol.DELTA_SPECIAL_FOOD) != 0) {
+            buffer.putInt(newSpecialFoodCell);
+        }
+        buffer.put((byte) headsAdded);
+        // Oldest new head first, so the decoder can push them in order
+        for (int i = headsAdded - 1; i >= 0; i--) {
+            buffer.putInt(snake.getCell(i));
+        }
+        buffer.putShort((short) tailsRemoved);
+        buffer.putInt(start, buffer.position() - start - Protocol.LENGTH_FIELD_SIZE);
+
+        remember(game);
+        return true;
+    }
+
+    /**
+     * Forget the base, so the next call reports that a keyframe is needed
+     */
+    public void reset() {
+        primed = false;
+    }
+
+    private void remember(GameController game) {
+        Snake snake = game.getSnake();
+        primed = true;
+        headSerial = snake.getHeadSerial();
+        length = snake.getLength();
+        score = game.getScore();
+        foodCell = Protocol.foodCell(game);
+        specialFoodCell = Protocol.specialFoodCell(game);
+        gameState = game.getGameState().ordinal();
+        direction = snake.getDirection().ordinal();
+    }
+}
@@ -0,0 +1,384 @@
+package com.game.net;
+
+import com.game.log.Log;
+import com.game.logic.GameController;
+import com.game.utils.Direction;
+import com.game.utils.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Authoritative game server. One thread runs a non-blocking Selector for
+ * every connection and advances the game at a fixed tick rate, so there is
+ * no thread per client and the game is only ever touched by that thread.
+ *
+ * The oldest connected client steers the snake; the others watch. Each
+ * tick is encoded once as a delta against the previous tick, and copied
+ * into every client's own direct output buffer. Clients get a full
+ * keyframe when they join, every KEYFRAME_INTERVAL ticks, and after they
+ * had to skip a frame, since later deltas no longer apply to what they hold.
+ * Buffers are reused and only grow when the snake outgrows them, so
+ * steady-state ticks do not allocate.
+ *
+ * On close the server stops ticking, then spends up to CLOSE_DRAIN_MILLIS
+ * sending what is still buffered, plus a keyframe to anyone who skipped
+ * a frame, so every client that keeps reading ends on the final tick.
+ */
+public class GameServer implements Runnable, Closeable {
+    private static final Log LOG = Log.get(GameServer.class);
+    private static final int INPUT_BUFFER_SIZE = 256;
+    private static final int MIN_OUTPUT_BUFFER_SIZE = 16 * 1024;
+    // Output buffers hold this many frames, enough to ride out short stalls
+    private static final int FRAMES_PER_OUTPUT_BUFFER = 4;
+    private static final int KEYFRAME_INTERVAL = 100;
+    private static final long CLOSE_DRAIN_MILLIS = 1_000;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final GameController game;
+    private final long tickNanos;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final List<Client> clients = new ArrayList<>();
+
+    private final DeltaEncoder deltaEncoder = new DeltaEncoder();
+    private final ByteBuffer deltaFrame = ByteBuffer.allocateDirect(Protocol.MAX_DELTA_SIZE);
+    private ByteBuffer keyframe = ByteBuffer.allocateDirect(MIN_OUTPUT_BUFFER_SIZE / FRAMES_PER_OUTPUT_BUFFER);
+    private volatile boolean running = true;
+    private volatile int clientCount;
+    private volatile long tick;
+    private volatile long droppedFrames;
+
+    private static final class Client {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer input = ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE);
+        ByteBuffer output;
+        // Set until the client holds a full state that deltas can apply to
+        boolean needsKeyframe = true;
+
+        Client(SocketChannel channel, SelectionKey key, int outputSize) {
+            this.channel = channel;
+            this.key = key;
+            this.output = ByteBuffer.allocateDirect(outputSize);
+        }
+    }
+
+    /**
+     * Bind a server for a game; call run (usually on its own thread) to start
+     *
+     * @param game       Game to run; the server thread owns it from now on
+     * @param address    Address to listen on, port 0 for any free port
+     * @param tickMillis Time between ticks
+     * @throws IOException If the address cannot be bound
+     */
+    public GameServer(GameController game, InetSocketAddress address, int tickMillis) throws IOException {
+        this.game = game;
+        this.tickNanos = tickMillis * 1_000_000L;
+        game.setTickMillis(tickMillis);
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(address);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime() + tickNanos;
+        try {
+            while (running) {
+                long waitNanos = nextTick - System.nanoTime();
+                if (waitNanos > 0) {
+                    selector.select((waitNanos + 999_999) / 1_000_000);
+                } else {
+                    selector.selectNow();
+                }
+                handleSelectedKeys();
+
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    tick();
+                    nextTick += tickNanos;
+                    // After a long stall, resume the schedule instead of replaying missed ticks
+                    if (now - nextTick > tickNanos) {
+                        nextTick = now + tickNanos;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Game server stopped: {}", e.getMessage());
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Stop the server thread and disconnect every client, once their
+     * buffered frames are sent
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Client client = (Client) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(client);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(client);
+                }
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            Client client = new Client(channel, key, outputBufferSize());
+            key.attach(client);
+            clients.add(client);
+            clientCount = clients.size();
+        }
+    }
+
+    private void read(Client client) throws IOException {
+        ByteBuffer input = client.input;
+        if (client.channel.read(input) < 0) {
+            disconnect(client);
+            return;
+        }
+        input.flip();
+        while (input.remaining() >= Protocol.INPUT_FRAME_SIZE) {
+            byte type = input.get();
+            byte value = input.get();
+            if (!handleInput(client, type, value)) {
+                disconnect(client);
+                return;
+            }
+        }
+        input.compact();
+    }
+
+    private boolean handleInput(Client client, byte type, byte value) {
+        // Only the oldest client steers; everyone else is a spectator
+        boolean isPlayer = !clients.isEmpty() && clients.get(0) == client;
+        switch (type) {
+            case Protocol.INPUT_DIRECTION:
+                if (value < 0 || value >= DIRECTIONS.length) {
+                    return false;
+                }
+                if (isPlayer) {
+                    game.setDirection(DIRECTIONS[value]);
+                }
+                return true;
+            case Protocol.INPUT_RESTART:
+                if (isPlayer && game.getGameState() == GameState.GAME_OVER) {
+                    game.resetGame();
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void tick() {
+        game.update();
+        tick++;
+        broadcast();
+    }
+
+    private void broadcast() {
+        deltaFrame.clear();
+        boolean haveDelta = deltaEncoder.writeDelta(deltaFrame, tick, game) && tick % KEYFRAME_INTERVAL != 0;
+        deltaFrame.flip();
+
+        // Keyframes are only encoded on ticks where some client needs one
+        boolean haveKeyframe = false;
+        int keyframeSize = Protocol.stateFrameSize(game);
+
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            Client client = clients.get(i);
+            ByteBuffer frame;
+            if (client.needsKeyframe || !haveDelta) {
+                if (!haveKeyframe) {
+                    encodeKeyframe(keyframeSize);
+                    haveKeyframe = true;
+                }
+                if (client.output.capacity() < keyframeSize * FRAMES_PER_OUTPUT_BUFFER
+                        && client.output.position() == 0) {
+                    client.output = ByteBuffer.allocateDirect(outputBufferSize());
+                }
+                frame = keyframe;
+            } else {
+                frame = deltaFrame;
+            }
+
+            if (client.output.remaining() < frame.limit()) {
+                droppedFrames++;
+                client.needsKeyframe = true;
+                continue;
+            }
+            frame.rewind();
+            client.output.put(frame);
+            client.needsKeyframe = false;
+            try {
+                flush(client);
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+
+    private void encodeKeyframe(int size) {
+        if (keyframe.capacity() < size) {
+            keyframe = ByteBuffer.allocateDirect(Integer.highestOneBit(size - 1) << 1);
+        }
+        keyframe.clear();
+        Protocol.writeState(keyframe, tick, game);
+        keyframe.flip();
+    }
+
+    private void flush(Client client) throws IOException {
+        ByteBuffer output = client.output;
+        output.flip();
+        client.channel.write(output);
+        output.compact();
+        int ops = output.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (client.key.interestOps() != ops) {
+            client.key.interestOps(ops);
+        }
+    }
+
+    private int outputBufferSize() {
+        int wanted = Protocol.stateFrameSize(game) * FRAMES_PER_OUTPUT_BUFFER;
+        return Math.max(MIN_OUTPUT_BUFFER_SIZE, Integer.highestOneBit(wanted - 1) << 1);
+    }
+
+    private void disconnect(Client client) {
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        clients.remove(client);
+        clientCount = clients.size();
+    }
+
+    /**
+     * Send every client the frames still in its buffer, and a keyframe of
+     * the final tick if it skipped one, giving up after CLOSE_DRAIN_MILLIS
+     */
+    private void drain() throws IOException {
+        int keyframeSize = Protocol.stateFrameSize(game);
+        encodeKeyframe(keyframeSize);
+        long deadline = System.nanoTime() + CLOSE_DRAIN_MILLIS * 1_000_000L;
+        while (true) {
+            boolean pending = false;
+            for (int i = clients.size() - 1; i >= 0; i--) {
+                Client client = clients.get(i);
+                if (client.needsKeyframe && client.output.capacity() < keyframeSize
+                        && client.output.position() == 0) {
+                    client.output = ByteBuffer.allocateDirect(outputBufferSize());
+                }
+                if (client.needsKeyframe && client.output.remaining() >= keyframeSize) {
+                    keyframe.rewind();
+                    client.output.put(keyframe);
+                    client.needsKeyframe = false;
+                }
+                try {
+                    flush(client);
+                } catch (IOException e) {
+                    disconnect(client);
+                    continue;
+                }
+                // Only wait for clients that can still be written to
+                client.key.interestOps(client.output.position() > 0 ? SelectionKey.OP_WRITE : 0);
+                pending |= client.output.position() > 0 || client.needsKeyframe;
+            }
+            long waitMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (!pending || waitMillis <= 0) {
+                return;
+            }
+            selector.select(waitMillis);
+            selector.selectedKeys().clear();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            // Stop accepting first, so waiting connections do not wake the drain
+            serverChannel.close();
+            if (selector.isOpen()) {
+                drain();
+            }
+        } catch (IOException e) {
+            LOG.warn("Error sending the last frames: {}", e.getMessage());
+        }
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            disconnect(clients.get(i));
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOG.warn("Error closing game server: {}", e.getMessage());
+        }
+    }
+
+    // Getters
+
+    /**
+     * Get the port the server is listening on
+     *
+     * @return Local port, useful when bound to port 0
+     * @throws IOException If the channel is closed
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Get the number of frames skipped for clients that could not keep up
+     *
+     * @return Dropped frame count since the server started
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+}
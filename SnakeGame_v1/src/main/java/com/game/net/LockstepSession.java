@@ -0,0 +1,268 @@
+package com.game.net;
+
+import com.game.logic.GameController;
+import com.game.logic.StateHash;
+import com.game.utils.Direction;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+/**
+ * Two-player lockstep: each peer runs both players' games from a shared
+ * seed and only inputs cross the wire. Player 0 is the host, player 1 the
+ * peer that joined; each steers its own snake and both race for score on
+ * identical food sequences.
+ *
+ * Inputs are scheduled inputDelay ticks ahead so the peer's input has time
+ * to arrive, and every input frame carries the sender's state hash, which
+ * the receiver compares with its own hash for the same tick.
+ *
+ * Input frame, big-endian: long input tick, byte direction ordinal (-1 to
+ * keep going), long hash tick, long state hash. The host opens with a
+ * handshake: long seed, int width, int height, int tick millis, int input delay.
+ */
+public class LockstepSession {
+    public static final int MAX_INPUT_DELAY = 32;
+
+    private static final int FRAME_SIZE = 8 + 1 + 8 + 8;
+    private static final int HANDSHAKE_SIZE = 8 + 4 + 4 + 4 + 4;
+    // Power of two comfortably larger than the input delay
+    private static final int RING = 256;
+    private static final int MASK = RING - 1;
+    private static final byte NO_INPUT = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SocketChannel channel;
+    private final int localIndex;
+    private final int inputDelay;
+    private final GameController[] games = new GameController[2];
+
+    private final ByteBuffer in = ByteBuffer.allocateDirect(FRAME_SIZE * RING);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(FRAME_SIZE);
+
+    private final byte[][] inputs = new byte[2][RING];
+    private final long[] localHashes = new long[RING];
+    private final long[] remoteHashes = new long[RING];
+    private final long[] remoteHashTicks = new long[RING];
+    private long remoteInputsUpTo;
+
+    private long tick;
+    private long desyncTick = -1;
+    private volatile Direction pendingInput;
+
+    private LockstepSession(SocketChannel channel, int localIndex, long seed, int width, int height,
+            int tickMillis, int inputDelay) {
+        if (inputDelay < 1 || inputDelay > MAX_INPUT_DELAY) {
+            throw new IllegalArgumentException("Input delay must be 1 to " + MAX_INPUT_DELAY + " ticks");
+        }
+        this.channel = channel;
+        this.localIndex = localIndex;
+        this.inputDelay = inputDelay;
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new GameController(null, seed, width, height);
+            games[i].setTickMillis(tickMillis);
+        }
+        for (int t = 0; t < inputDelay; t++) {
+            inputs[0][t] = NO_INPUT;
+            inputs[1][t] = NO_INPUT;
+        }
+        Arrays.fill(remoteHashTicks, -1);
+        remoteInputsUpTo = inputDelay - 1;
+    }
+
+    /**
+     * Start a session as the host and send the game settings to the peer
+     *
+     * @param channel    Connected blocking channel to the peer
+     * @param seed       Shared seed for both games
+     * @param width      Board width in pixels
+     * @param height     Board height in pixels
+     * @param tickMillis Game time per tick
+     * @param inputDelay Ticks between choosing an input and applying it
+     * @return Session for player 0
+     * @throws IOException If the handshake cannot be sent
+     */
+    public static LockstepSession host(SocketChannel channel, long seed, int width, int height,
+            int tickMillis, int inputDelay) throws IOException {
+        LockstepSession session = new LockstepSession(channel, 0, seed, width, height, tickMillis, inputDelay);
+        ByteBuffer handshake = ByteBuffer.allocate(HANDSHAKE_SIZE);
+        handshake.putLong(seed).putInt(width).putInt(height).putInt(tickMillis).putInt(inputDelay).flip();
+        while (handshake.hasRemaining()) {
+            channel.write(handshake);
+        }
+        return session;
+    }
+
+    /**
+     * Join a session by reading the host's game settings
+     *
+     * @param channel Connected blocking channel to the host
+     * @return Session for player 1
+     * @throws IOException If the handshake cannot be read
+     */
+    public static LockstepSession join(SocketChannel channel) throws IOException {
+        ByteBuffer handshake = ByteBuffer.allocate(HANDSHAKE_SIZE);
+        readFully(channel, handshake);
+        handshake.flip();
+        return new LockstepSession(channel, 1, handshake.getLong(), handshake.getInt(), handshake.getInt(),
+                handshake.getInt(), handshake.getInt());
+    }
+
+    /**
+     * Queue the local player's next turn; safe to call from any thread.
+     * Only the latest call before a tick is sent.
+     *
+     * @param direction Direction to turn to
+     */
+    public void submitLocalInput(Direction direction) {
+        pendingInput = direction;
+    }
+
+    /**
+     * Advance both games by one tick: send the local input for a later tick,
+     * wait for the peer's input for this tick, then apply both.
+     *
+     * @return false once the peers' states have diverged
+     * @throws IOException If the connection fails
+     */
+    public boolean step() throws IOException {
+        long hash = getStateHash();
+        localHashes[(int) (tick & MASK)] = hash;
+        checkHash(tick);
+
+        Direction local = pendingInput;
+        pendingInput = null;
+        byte localInput = local == null ? NO_INPUT : (byte) local.ordinal();
+        long inputTick = tick + inputDelay;
+        inputs[localIndex][(int) (inputTick & MASK)] = localInput;
+        sendFrame(inputTick, localInput, tick, hash);
+
+        while (remoteInputsUpTo < tick) {
+            receiveFrames();
+        }
+
+        int slot = (int) (tick & MASK);
+        for (int i = 0; i < games.length; i++) {
+            if (inputs[i][slot] != NO_INPUT) {
+                games[i].setDirection(DIRECTIONS[inputs[i][slot]]);
+            }
+            games[i].update();
+        }
+        tick++;
+        return desyncTick < 0;
+    }
+
+    /**
+     * End the session cleanly: stop sending, then drain whatever the peer
+     * still sends until it stops too, so neither side writes into a closed
+     * socket
+     *
+     * @throws IOException If the connection fails
+     */
+    public void finish() throws IOException {
+        channel.shutdownOutput();
+        while (channel.read(in) >= 0) {
+            in.clear();
+        }
+    }
+
+    /**
+     * Combined hash of both games
+     *
+     * @return 64-bit hash, equal on both peers while they are in sync
+     */
+    public long getStateHash() {
+        return StateHash.mix(games[0].getStateHash()) ^ games[1].getStateHash();
+    }
+
+    private void sendFrame(long inputTick, byte input, long hashTick, long hash) throws IOException {
+        out.clear();
+        out.putLong(inputTick).put(input).putLong(hashTick).putLong(hash).flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    private void receiveFrames() throws IOException {
+        if (channel.read(in) < 0) {
+            throw new EOFException("Peer closed the lockstep session at tick " + tick);
+        }
+        in.flip();
+        int remote = 1 - localIndex;
+        while (in.remaining() >= FRAME_SIZE) {
+            long inputTick = in.getLong();
+            byte input = in.get();
+            long hashTick = in.getLong();
+            long hash = in.getLong();
+
+            inputs[remote][(int) (inputTick & MASK)] = input;
+            remoteInputsUpTo = inputTick;
+
+            remoteHashes[(int) (hashTick & MASK)] = hash;
+            remoteHashTicks[(int) (hashTick & MASK)] = hashTick;
+            if (hashTick <= tick) {
+                checkHash(hashTick);
+            }
+        }
+        in.compact();
+    }
+
+    /**
+     * Compare both peers' hashes for a tick once both are known
+     */
+    private void checkHash(long hashTick) {
+        int slot = (int) (hashTick & MASK);
+        if (remoteHashTicks[slot] == hashTick && localHashes[slot] != remoteHashes[slot] && desyncTick < 0) {
+            desyncTick = hashTick;
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Peer closed the lockstep session during the handshake");
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * Get one player's game
+     *
+     * @param player 0 for the host, 1 for the peer that joined
+     * @return Game of that player
+     */
+    public GameController getGame(int player) {
+        return games[player];
+    }
+
+    public int getLocalIndex() {
+        return localIndex;
+    }
+
+    /**
+     * Get how many ticks after it is submitted a local input is applied
+     *
+     * @return Input delay agreed in the handshake
+     */
+    public int getInputDelay() {
+        return inputDelay;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Get the first tick at which the peers' hashes differed
+     *
+     * @return Tick number, or -1 while in sync
+     */
+    public long getDesyncTick() {
+        return desyncTick;
+    }
+}
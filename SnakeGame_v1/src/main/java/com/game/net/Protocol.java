@@ -0,0 +1,107 @@
+package com.game.net;
+
+import com.game.logic.Food;
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format shared by the server and its clients. All values big-endian.
+ *
+ * Client to server, fixed two-byte frames:
+ * byte type (INPUT_DIRECTION or INPUT_RESTART), byte value (Direction ordinal).
+ *
+ * Server to client, one frame per tick, each starting with
+ * int frame length (bytes after this field) and byte type.
+ *
+ * STATE (keyframe): long tick, byte game state ordinal, int score,
+ * byte direction ordinal, int food cell, int special food cell (-1 when
+ * hidden), int snake length, int[snake length] cells head first.
+ *
+ * DELTA, against the previous tick: long tick, byte flags, then in order
+ * only the fields whose flag is set: byte game state ordinal (DELTA_STATE),
+ * int score (DELTA_SCORE), byte direction ordinal (DELTA_DIRECTION),
+ * int food cell (DELTA_FOOD), int special food cell (DELTA_SPECIAL_FOOD);
+ * then byte heads added, int[heads added] new cells oldest first, and
+ * unsigned short tails removed. Heads are pushed before tails are popped.
+ *
+ * Cells are packed as y * cols + x.
+ */
+public final class Protocol {
+    public static final byte INPUT_DIRECTION = 1;
+    public static final byte INPUT_RESTART = 2;
+    public static final int INPUT_FRAME_SIZE = 2;
+
+    public static final byte STATE = 1;
+    public static final byte DELTA = 2;
+    public static final int LENGTH_FIELD_SIZE = 4;
+    public static final int STATE_HEADER_SIZE = LENGTH_FIELD_SIZE + 1 + 8 + 1 + 4 + 1 + 4 + 4 + 4;
+
+    public static final int DELTA_STATE = 1;
+    public static final int DELTA_SCORE = 1 << 1;
+    public static final int DELTA_DIRECTION = 1 << 2;
+    public static final int DELTA_FOOD = 1 << 3;
+    public static final int DELTA_SPECIAL_FOOD = 1 << 4;
+    public static final int MAX_DELTA_HEADS = 127;
+    public static final int MAX_DELTA_TAILS = 0xFFFF;
+    public static final int MAX_DELTA_SIZE = LENGTH_FIELD_SIZE + 1 + 8 + 1 + 1 + 4 + 1 + 4 + 4
+            + 1 + 4 * MAX_DELTA_HEADS + 2;
+
+    public static final int NO_CELL = -1;
+
+    private Protocol() {
+    }
+
+    /**
+     * Get the size of the state frame for the game as it is now
+     *
+     * @param game Game to encode
+     * @return Frame size in bytes, including the length field
+     */
+    public static int stateFrameSize(GameController game) {
+        return STATE_HEADER_SIZE + 4 * game.getSnake().getLength();
+    }
+
+    /**
+     * Append a full state frame to a buffer; the buffer must have at least
+     * stateFrameSize(game) bytes remaining
+     *
+     * @param buffer Buffer to write into
+     * @param tick   Server tick number
+     * @param game   Game to encode
+     */
+    public static void writeState(ByteBuffer buffer, long tick, GameController game) {
+        Snake snake = game.getSnake();
+        int length = snake.getLength();
+
+        buffer.putInt(stateFrameSize(game) - LENGTH_FIELD_SIZE);
+        buffer.put(STATE);
+        buffer.putLong(tick);
+        buffer.put((byte) game.getGameState().ordinal());
+        buffer.putInt(game.getScore());
+        buffer.put((byte) snake.getDirection().ordinal());
+        buffer.putInt(foodCell(game));
+        buffer.putInt(specialFoodCell(game));
+        buffer.putInt(length);
+        for (int i = 0; i < length; i++) {
+            buffer.putInt(snake.getCell(i));
+        }
+    }
+
+    static int foodCell(GameController game) {
+        return cellOf(game.getFood(), game.getSnake());
+    }
+
+    static int specialFoodCell(GameController game) {
+        return game.getSpecialFood().isVisible() ? cellOf(game.getSpecialFood(), game.getSnake()) : NO_CELL;
+    }
+
+    private static int cellOf(Food food, Snake snake) {
+        if (food == null || food.getPosition() == null) {
+            return NO_CELL;
+        }
+        int unitSize = food.getUnitSize();
+        return (food.getPosition().y / unitSize) * snake.getCols() + food.getPosition().x / unitSize;
+    }
+}
@@ -0,0 +1,400 @@
+package com.game.net;
+
+import com.game.logic.GameController;
+import com.game.logic.SnapshotRing;
+import com.game.logic.StateHash;
+import com.game.utils.Direction;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+/**
+ * Two-player rollback session: like LockstepSession each peer runs both
+ * players' games from a shared seed and only inputs cross the wire, but a
+ * peer never waits for the other one's input. The remote snake is predicted
+ * to keep going, and when an input arrives for a tick that was already
+ * simulated, the remote game is restored from the snapshot of that tick and
+ * simulated forward again. Snapshots are a few scalars each (see
+ * SnapshotRing), so saving one every tick and rolling back costs O(ticks
+ * replayed), not O(board).
+ *
+ * A peer only stalls when the other one is more than MAX_ROLLBACK ticks
+ * behind. State hashes are exchanged for confirmed ticks only, that is,
+ * ticks whose inputs are all known, so predictions never show as desyncs.
+ *
+ * Frames and handshake are the same as LockstepSession's, except that the
+ * input delay may be 0.
+ */
+public class RollbackSession {
+    public static final int MAX_INPUT_DELAY = 8;
+    // Deepest rollback; snapshots and snake history must reach this far back
+    public static final int MAX_ROLLBACK = 32;
+
+    private static final int FRAME_SIZE = 8 + 1 + 8 + 8;
+    private static final int HANDSHAKE_SIZE = 8 + 4 + 4 + 4 + 4;
+    // Power of two comfortably larger than MAX_ROLLBACK plus the input delay
+    private static final int RING = 256;
+    private static final int MASK = RING - 1;
+    private static final byte NO_INPUT = -1;
+    private static final long NONE = Long.MAX_VALUE;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final SelectionKey key;
+    private final int localIndex;
+    private final int remoteIndex;
+    private final int inputDelay;
+    private final GameController[] games = new GameController[2];
+    private final SnapshotRing[] snapshots = new SnapshotRing[2];
+
+    private final ByteBuffer in = ByteBuffer.allocateDirect(FRAME_SIZE * RING);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(FRAME_SIZE);
+
+    private final byte[][] inputs = new byte[2][RING];
+    // Hash of each game at the start of each tick, kept up to date by rollbacks
+    private final long[][] gameHashes = new long[2][RING];
+    private final long[] remoteHashes = new long[RING];
+    private final long[] remoteHashTicks = new long[RING];
+    private long remoteInputsUpTo;
+    private long remoteHashesUpTo = -1;
+    private long checkedUpTo = -1;
+    private long rollbackFrom = NONE;
+
+    private long tick;
+    private long desyncTick = -1;
+    private volatile Direction pendingInput;
+
+    // Statistics
+    private long rollbacks;
+    private long ticksReplayed;
+    private int maxRollbackDepth;
+    private long maxRollbackNanos;
+    private long stalls;
+
+    private RollbackSession(SocketChannel channel, int localIndex, long seed, int width, int height,
+            int tickMillis, int inputDelay) throws IOException {
+        if (inputDelay < 0 || inputDelay > MAX_INPUT_DELAY) {
+            throw new IllegalArgumentException("Input delay must be 0 to " + MAX_INPUT_DELAY + " ticks");
+        }
+        this.channel = channel;
+        this.localIndex = localIndex;
+        this.remoteIndex = 1 - localIndex;
+        this.inputDelay = inputDelay;
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new GameController(null, seed, width, height);
+            games[i].setTickMillis(tickMillis);
+            snapshots[i] = new SnapshotRing(MAX_ROLLBACK + 1);
+            save(i, 0);
+        }
+        for (int t = 0; t < inputDelay; t++) {
+            inputs[0][t] = NO_INPUT;
+            inputs[1][t] = NO_INPUT;
+        }
+        Arrays.fill(remoteHashTicks, -1);
+        remoteInputsUpTo = inputDelay - 1;
+
+        channel.configureBlocking(false);
+        this.selector = Selector.open();
+        this.key = channel.register(selector, SelectionKey.OP_READ);
+    }
+
+    /**
+     * Start a session as the host and send the game settings to the peer
+     *
+     * @param channel    Connected blocking channel to the peer; the session makes it non-blocking
+     * @param seed       Shared seed for both games
+     * @param width      Board width in pixels
+     * @param height     Board height in pixels
+     * @param tickMillis Game time per tick
+     * @param inputDelay Ticks between choosing an input and applying it, 0 for none
+     * @return Session for player 0
+     * @throws IOException If the handshake cannot be sent
+     */
+    public static RollbackSession host(SocketChannel channel, long seed, int width, int height,
+            int tickMillis, int inputDelay) throws IOException {
+        ByteBuffer handshake = ByteBuffer.allocate(HANDSHAKE_SIZE);
+        handshake.putLong(seed).putInt(width).putInt(height).putInt(tickMillis).putInt(inputDelay).flip();
+        while (handshake.hasRemaining()) {
+            channel.write(handshake);
+        }
+        return new RollbackSession(channel, 0, seed, width, height, tickMillis, inputDelay);
+    }
+
+    /**
+     * Join a session by reading the host's game settings
+     *
+     * @param channel Connected blocking channel to the host; the session makes it non-blocking
+     * @return Session for player 1
+     * @throws IOException If the handshake cannot be read
+     */
+    public static RollbackSession join(SocketChannel channel) throws IOException {
+        ByteBuffer handshake = ByteBuffer.allocate(HANDSHAKE_SIZE);
+        while (handshake.hasRemaining()) {
+            if (channel.read(handshake) < 0) {
+                throw new EOFException("Peer closed the rollback session during the handshake");
+            }
+        }
+        handshake.flip();
+        return new RollbackSession(channel, 1, handshake.getLong(), handshake.getInt(), handshake.getInt(),
+                handshake.getInt(), handshake.getInt());
+    }
+
+    /**
+     * Queue the local player's next turn; safe to call from any thread.
+     * Only the latest call before a tick is sent.
+     *
+     * @param direction Direction to turn to
+     */
+    public void submitLocalInput(Direction direction) {
+        pendingInput = direction;
+    }
+
+    /**
+     * Advance both games by one tick: apply any remote inputs that arrived,
+     * rolling back if they change the past, send the local input, then
+     * simulate this tick with the remote input predicted where unknown.
+     * Only blocks when the peer is more than MAX_ROLLBACK ticks behind.
+     *
+     * @return false once the peers' states have diverged
+     * @throws IOException If the connection fails
+     */
+    public boolean step() throws IOException {
+        if (receiveFrames() < 0) {
+            throw new EOFException("Peer closed the rollback session at tick " + tick);
+        }
+        while (tick - remoteInputsUpTo > MAX_ROLLBACK) {
+            stalls++;
+            selector.select();
+            selector.selectedKeys().clear();
+            if (receiveFrames() < 0) {
+                throw new EOFException("Peer closed the rollback session at tick " + tick);
+            }
+        }
+
+        Direction local = pendingInput;
+        pendingInput = null;
+        byte localInput = local == null ? NO_INPUT : (byte) local.ordinal();
+        long inputTick = tick + inputDelay;
+        inputs[localIndex][(int) (inputTick & MASK)] = localInput;
+        long confirmed = getConfirmedTick();
+        sendFrame(inputTick, localInput, confirmed, confirmedHash(confirmed));
+
+        simulate(localIndex, tick);
+        simulate(remoteIndex, tick);
+        tick++;
+        return desyncTick < 0;
+    }
+
+    /**
+     * End the session cleanly: stop sending, then apply whatever the peer
+     * still sends until it stops too, so the final state includes every
+     * input the peer made
+     *
+     * @throws IOException If the connection fails
+     */
+    public void finish() throws IOException {
+        channel.shutdownOutput();
+        while (receiveFrames() >= 0) {
+            selector.select();
+            selector.selectedKeys().clear();
+        }
+        selector.close();
+    }
+
+    /**
+     * Combined hash of both games as they are now, predictions included
+     *
+     * @return 64-bit hash, equal on both peers once the same inputs are confirmed
+     */
+    public long getStateHash() {
+        return StateHash.mix(games[0].getStateHash()) ^ games[1].getStateHash();
+    }
+
+    /**
+     * Apply one player's input for a tick and save the state the next tick starts from
+     */
+    private void simulate(int player, long t) {
+        byte input = player == localIndex || t <= remoteInputsUpTo
+                ? inputs[player][(int) (t & MASK)]
+                : NO_INPUT;
+        GameController game = games[player];
+        if (input != NO_INPUT) {
+            game.setDirection(DIRECTIONS[input]);
+        }
+        game.update();
+        save(player, t + 1);
+    }
+
+    private void save(int player, long t) {
+        snapshots[player].save(t, games[player]);
+        gameHashes[player][(int) (t & MASK)] = games[player].getStateHash();
+    }
+
+    /**
+     * Read every frame that has arrived, replay the remote game if one of
+     * them changed an input it was predicted with, then compare the hashes
+     * of ticks both peers have confirmed
+     *
+     * @return Bytes read, or -1 once the peer has closed its side
+     */
+    private int receiveFrames() throws IOException {
+        int read = channel.read(in);
+        in.flip();
+        while (in.remaining() >= FRAME_SIZE) {
+            long inputTick = in.getLong();
+            byte input = in.get();
+            long hashTick = in.getLong();
+            long hash = in.getLong();
+
+            inputs[remoteIndex][(int) (inputTick & MASK)] = input;
+            remoteInputsUpTo = inputTick;
+            // Ticks already simulated were predicted with no input
+            if (inputTick < tick && input != NO_INPUT) {
+                rollbackFrom = Math.min(rollbackFrom, inputTick);
+            }
+
+            remoteHashes[(int) (hashTick & MASK)] = hash;
+            remoteHashTicks[(int) (hashTick & MASK)] = hashTick;
+            remoteHashesUpTo = hashTick;
+        }
+        in.compact();
+
+        if (rollbackFrom != NONE) {
+            rollback(rollbackFrom);
+            rollbackFrom = NONE;
+        }
+        checkHashes();
+        return read;
+    }
+
+    private void rollback(long from) {
+        long start = System.nanoTime();
+        snapshots[remoteIndex].restore(from, games[remoteIndex]);
+        for (long t = from; t < tick; t++) {
+            simulate(remoteIndex, t);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int depth = (int) (tick - from);
+        rollbacks++;
+        ticksReplayed += depth;
+        maxRollbackDepth = Math.max(maxRollbackDepth, depth);
+        maxRollbackNanos = Math.max(maxRollbackNanos, elapsed);
+    }
+
+    /**
+     * Compare hashes of every tick both peers have confirmed since the last check
+     */
+    private void checkHashes() {
+        long upTo = Math.min(getConfirmedTick(), remoteHashesUpTo);
+        for (long t = checkedUpTo + 1; t <= upTo; t++) {
+            int slot = (int) (t & MASK);
+            if (remoteHashTicks[slot] == t && remoteHashes[slot] != confirmedHash(t) && desyncTick < 0) {
+                desyncTick = t;
+            }
+        }
+        checkedUpTo = Math.max(checkedUpTo, upTo);
+    }
+
+    private long confirmedHash(long t) {
+        int slot = (int) (t & MASK);
+        return StateHash.mix(gameHashes[0][slot]) ^ gameHashes[1][slot];
+    }
+
+    private void sendFrame(long inputTick, byte input, long hashTick, long hash) throws IOException {
+        out.clear();
+        out.putLong(inputTick).put(input).putLong(hashTick).putLong(hash).flip();
+        while (out.hasRemaining()) {
+            if (channel.write(out) == 0) {
+                // Socket buffer full; wait until it drains
+                key.interestOps(SelectionKey.OP_WRITE);
+                selector.select();
+                selector.selectedKeys().clear();
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * Get one player's game; the remote player's game includes predictions
+     *
+     * @param player 0 for the host, 1 for the peer that joined
+     * @return Game of that player
+     */
+    public GameController getGame(int player) {
+        return games[player];
+    }
+
+    public int getLocalIndex() {
+        return localIndex;
+    }
+
+    /**
+     * Get how many ticks after it is submitted a local input is applied
+     *
+     * @return Input delay agreed in the handshake
+     */
+    public int getInputDelay() {
+        return inputDelay;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Get the latest tick whose starting state no longer depends on predictions
+     *
+     * @return Tick number
+     */
+    public long getConfirmedTick() {
+        return Math.min(tick, remoteInputsUpTo + 1);
+    }
+
+    /**
+     * Get the first confirmed tick at which the peers' hashes differed
+     *
+     * @return Tick number, or -1 while in sync
+     */
+    public long getDesyncTick() {
+        return desyncTick;
+    }
+
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    public long getTicksReplayed() {
+        return ticksReplayed;
+    }
+
+    public int getMaxRollbackDepth() {
+        return maxRollbackDepth;
+    }
+
+    /**
+     * Get the longest time spent restoring and replaying one rollback
+     *
+     * @return Duration in nanoseconds
+     */
+    public long getMaxRollbackNanos() {
+        return maxRollbackNanos;
+    }
+
+    /**
+     * Get the number of steps that had to wait for the peer
+     *
+     * @return Times step blocked because the peer was MAX_ROLLBACK ticks behind
+     */
+    public long getStalls() {
+        return stalls;
+    }
+}
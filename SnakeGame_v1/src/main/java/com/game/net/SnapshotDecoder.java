@@ -0,0 +1,155 @@
+package com.game.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Client-side mirror of the server's game, rebuilt from keyframes and kept
+ * current by deltas. Deltas received before the first keyframe are ignored,
+ * so a late joiner simply waits for its keyframe.
+ * The body is kept as packed cells in a growable ring, head first.
+ */
+public class SnapshotDecoder {
+    private int[] ring = new int[64];
+    private int headIndex;
+    private int length;
+
+    private boolean synced;
+    private long tick;
+    private int gameState;
+    private int score;
+    private int direction;
+    private int foodCell = Protocol.NO_CELL;
+    private int specialFoodCell = Protocol.NO_CELL;
+
+    /**
+     * Apply one complete frame
+     *
+     * @param frame Buffer positioned at the frame's length field; left
+     *              positioned after the frame
+     * @throws IllegalStateException If a delta does not follow the last tick
+     */
+    public void apply(ByteBuffer frame) {
+        int end = frame.position() + Protocol.LENGTH_FIELD_SIZE + frame.getInt();
+        byte type = frame.get();
+        if (type == Protocol.STATE) {
+            applyKeyframe(frame);
+        } else if (type == Protocol.DELTA && synced) {
+            applyDelta(frame);
+        }
+        frame.position(end);
+    }
+
+    private void applyKeyframe(ByteBuffer frame) {
+        tick = frame.getLong();
+        gameState = frame.get();
+        score = frame.getInt();
+        direction = frame.get();
+        foodCell = frame.getInt();
+        specialFoodCell = frame.getInt();
+        int newLength = frame.getInt();
+        if (ring.length < newLength) {
+            ring = new int[Integer.highestOneBit(newLength - 1) << 1];
+        }
+        for (int i = 0; i < newLength; i++) {
+            ring[i] = frame.getInt();
+        }
+        headIndex = 0;
+        length = newLength;
+        synced = true;
+    }
+
+    private void applyDelta(ByteBuffer frame) {
+        long frameTick = frame.getLong();
+        if (frameTick != tick + 1) {
+            throw new IllegalStateException("Delta for tick " + frameTick + " after tick " + tick);
+        }
+        tick = frameTick;
+
+        int flags = frame.get();
+        if ((flags & Protocol.DELTA_STATE) != 0) {
+            gameState = frame.get();
+        }
+        if ((flags & Protocol.DELTA_SCORE) != 0) {
+            score = frame.getInt();
+        }
+        if ((flags & Protocol.DELTA_DIRECTION) != 0) {
+            direction = frame.get();
+        }
+        if ((flags & Protocol.DELTA_FOOD) != 0) {
+            foodCell = frame.getInt();
+        }
+        if ((flags & Protocol.DELTA_SPECIAL_FOOD) != 0) {
+            specialFoodCell = frame.getInt();
+        }
+
+        int headsAdded = frame.get();
+        for (int i = 0; i < headsAdded; i++) {
+            pushHead(frame.getInt());
+        }
+        int tailsRemoved = frame.getShort() & 0xFFFF;
+        length -= tailsRemoved;
+    }
+
+    private void pushHead(int cell) {
+        if (length == ring.length) {
+            int[] grown = new int[ring.length * 2];
+            for (int i = 0; i < length; i++) {
+                grown[i] = getCell(i);
+            }
+            ring = grown;
+            headIndex = 0;
+        }
+        headIndex = (headIndex - 1) & (ring.length - 1);
+        ring[headIndex] = cell;
+        length++;
+    }
+
+    // Getters
+
+    /**
+     * Get the cell of a segment
+     *
+     * @param index Segment index, 0 is the head
+     * @return Packed cell index (y * cols + x)
+     */
+    public int getCell(int index) {
+        return ring[(headIndex + index) & (ring.length - 1)];
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Check if a keyframe has been received yet
+     *
+     * @return true once the mirror holds a complete state
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getGameState() {
+        return gameState;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDirection() {
+        return direction;
+    }
+
+    public int getFoodCell() {
+        return foodCell;
+    }
+
+    public int getSpecialFoodCell() {
+        return specialFoodCell;
+    }
+}
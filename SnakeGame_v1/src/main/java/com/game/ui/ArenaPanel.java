@@ -0,0 +1,187 @@
+package com.game.ui;
+
+import com.game.bot.ArenaBot;
+import com.game.bot.GreedyArenaBot;
+import com.game.logic.ArenaController;
+import com.game.logic.GameController;
+import com.game.utils.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+
+/**
+ * Panel for the local arena: up to two players share the keyboard
+ * (player 1 on the arrow keys, player 2 on WASD) and bots drive the rest.
+ * The whole board is drawn, so arena boards should fit on screen.
+ */
+public class ArenaPanel extends JPanel implements ActionListener {
+    public static final int MAX_HUMANS = 2;
+
+    private final ArenaController arena;
+    private final int humans;
+    private final ArenaBot bot = new GreedyArenaBot();
+    private final javax.swing.Timer gameTimer;
+    private final Runnable onClose;
+
+    public ArenaPanel(ArenaController arena, int humans, Runnable onClose) {
+        if (humans < 0 || humans > MAX_HUMANS || humans > arena.getSnakeCount()) {
+            throw new IllegalArgumentException("Arena supports 0 to " + MAX_HUMANS + " human players");
+        }
+        this.arena = arena;
+        this.humans = humans;
+        this.onClose = onClose;
+
+        setPreferredSize(new Dimension(arena.getBoardWidth(), arena.getBoardHeight()));
+        setBackground(UITheme.COLOR_BACKGROUND);
+        setFocusable(true);
+        setFocusTraversalKeysEnabled(false);
+        addKeyListener(new ArenaKeyListener());
+
+        gameTimer = new javax.swing.Timer(GameController.DEFAULT_TICK_MILLIS, this);
+        gameTimer.start();
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (arena.getGameState() != GameState.RUNNING) {
+            return;
+        }
+        for (int i = humans; i < arena.getSnakeCount(); i++) {
+            if (arena.isAlive(i)) {
+                arena.setDirection(i, bot.nextDirection(arena, i));
+            }
+        }
+        arena.update();
+        repaint();
+    }
+
+    public void cleanUp() {
+        gameTimer.stop();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int unitSize = arena.getUnitSize();
+
+        g.setColor(UITheme.COLOR_GRID);
+        for (int x = unitSize; x < arena.getBoardWidth(); x += unitSize) {
+            g.drawLine(x, 0, x, arena.getBoardHeight());
+        }
+        for (int y = unitSize; y < arena.getBoardHeight(); y += unitSize) {
+            g.drawLine(0, y, arena.getBoardWidth(), y);
+        }
+
+        for (int i = 0; i < arena.getFoodCount(); i++) {
+            arena.getFood(i).draw(g, unitSize);
+        }
+        for (int i = 0; i < arena.getSnakeCount(); i++) {
+            if (arena.isAlive(i)) {
+                arena.getSnake(i).draw(g, unitSize);
+            }
+        }
+
+        drawScores(g);
+        if (arena.getGameState() == GameState.PAUSED) {
+            drawCenteredMessage(g, "PAUSED", "Press SPACE to continue");
+        } else if (arena.getGameState() == GameState.GAME_OVER) {
+            drawCenteredMessage(g, "GAME OVER", winnerText() + " - Press SPACE or F2 to restart");
+        }
+    }
+
+    private void drawScores(Graphics g) {
+        g.setFont(UITheme.FONT_SHORTCUT_HINT);
+        int y = 15;
+        for (int i = 0; i < humans; i++) {
+            g.setColor(UITheme.createArenaSnakeColor(i));
+            g.drawString("P" + (i + 1) + ": " + arena.getScore(i) + (arena.isAlive(i) ? "" : " (out)"), 10, y);
+            y += 15;
+        }
+        g.setColor(UITheme.COLOR_HINT);
+        g.drawString("Alive: " + arena.getAliveCount() + "/" + arena.getSnakeCount(), 10, y);
+    }
+
+    private String winnerText() {
+        for (int i = 0; i < arena.getSnakeCount(); i++) {
+            if (arena.isAlive(i)) {
+                return i < humans ? "Player " + (i + 1) + " wins" : "Bot " + (i + 1) + " wins";
+            }
+        }
+        return "No survivors";
+    }
+
+    private void drawCenteredMessage(Graphics g, String title, String subtitle) {
+        g.setColor(UITheme.COLOR_OVERLAY);
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        g.setColor(UITheme.COLOR_HIGHLIGHT);
+        g.setFont(UITheme.FONT_PAUSE);
+        FontMetrics metrics = getFontMetrics(g.getFont());
+        g.drawString(title, (getWidth() - metrics.stringWidth(title)) / 2, getHeight() / 2 - 20);
+
+        g.setColor(UITheme.COLOR_TEXT);
+        g.setFont(UITheme.FONT_CONTINUE);
+        metrics = getFontMetrics(g.getFont());
+        g.drawString(subtitle, (getWidth() - metrics.stringWidth(subtitle)) / 2, getHeight() / 2 + 30);
+    }
+
+    private class ArenaKeyListener extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_UP:
+                    steer(0, Direction.UP);
+                    break;
+                case KeyEvent.VK_DOWN:
+                    steer(0, Direction.DOWN);
+                    break;
+                case KeyEvent.VK_LEFT:
+                    steer(0, Direction.LEFT);
+                    break;
+                case KeyEvent.VK_RIGHT:
+                    steer(0, Direction.RIGHT);
+                    break;
+                case KeyEvent.VK_W:
+                    steer(1, Direction.UP);
+                    break;
+                case KeyEvent.VK_S:
+                    steer(1, Direction.DOWN);
+                    break;
+                case KeyEvent.VK_A:
+                    steer(1, Direction.LEFT);
+                    break;
+                case KeyEvent.VK_D:
+                    steer(1, Direction.RIGHT);
+                    break;
+                case KeyEvent.VK_SPACE:
+                    if (arena.getGameState() == GameState.GAME_OVER) {
+                        arena.reset();
+                    } else {
+                        arena.togglePause();
+                    }
+                    repaint();
+                    break;
+                case KeyEvent.VK_F2:
+                    arena.reset();
+                    repaint();
+                    break;
+                case KeyEvent.VK_ESCAPE:
+                    cleanUp();
+                    if (onClose != null) {
+                        onClose.run();
+                    }
+                    break;
+            }
+        }
+
+        private void steer(int player, Direction direction) {
+            if (player < humans) {
+                arena.setDirection(player, direction);
+            }
+        }
+    }
+}
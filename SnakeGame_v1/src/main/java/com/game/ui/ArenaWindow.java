@@ -0,0 +1,26 @@
+package com.game.ui;
+
+import com.game.logic.ArenaController;
+
+import javax.swing.*;
+import java.awt.*;
+
+public class ArenaWindow {
+    private JFrame frame;
+    private ArenaPanel arenaPanel;
+
+    public ArenaWindow(ArenaController arena, int humans) {
+        frame = new JFrame("Snake Arena");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLayout(new BorderLayout());
+
+        arenaPanel = new ArenaPanel(arena, humans, () -> System.exit(0));
+        frame.add(arenaPanel, BorderLayout.CENTER);
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setResizable(false);
+        frame.setVisible(true);
+
+        arenaPanel.requestFocusInWindow();
+    }
+}
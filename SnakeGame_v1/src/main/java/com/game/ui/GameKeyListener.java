@@ -1,5 +1,6 @@
 package com.game.ui;
 
+import com.game.log.Log;
 import com.game.logic.*;
 import com.game.utils.*;
 
@@ -9,9 +10,13 @@ import java.awt.event.KeyEvent;
 import javax.swing.SwingUtilities;
 
 public class GameKeyListener extends KeyAdapter {
+    private static final Log LOG = Log.get(GameKeyListener.class);
     private GameController gameController;
     private GamePanel gamePanel;
     private Runnable onLogout;
+    // When the current key press reached this listener, and its event timestamp
+    private long pressedNanos;
+    private long pressedWhen;
 
     public GameKeyListener(GameController gameController, GamePanel gamePanel, Runnable onLogout) {
         this.gameController = gameController;
@@ -21,6 +26,8 @@ public class GameKeyListener extends KeyAdapter {
 
     @Override
     public void keyPressed(KeyEvent e) {
+        pressedNanos = System.nanoTime();
+        pressedWhen = e.getWhen();
         int keyCode = e.getKeyCode();
         GameState gameState = gameController.getGameState();
 
@@ -32,6 +39,13 @@ public class GameKeyListener extends KeyAdapter {
         handleGameKeys(keyCode);
     }
 
+    @Override
+    public void keyReleased(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_R && gamePanel != null) {
+            gamePanel.stopRewind();
+        }
+    }
+
     private void handleGameOverKeys(int keyCode) {
         switch (keyCode) {
             case KeyEvent.VK_SPACE:
@@ -47,6 +61,13 @@ public class GameKeyListener extends KeyAdapter {
             case KeyEvent.VK_ESCAPE:
                 performLogout();
                 break;
+
+            case KeyEvent.VK_R:
+                // Rewinding past the collision brings the game back to life
+                if (gamePanel != null) {
+                    gamePanel.startRewind();
+                }
+                break;
         }
     }
 
@@ -54,22 +75,22 @@ public class GameKeyListener extends KeyAdapter {
         switch (keyCode) {
             case KeyEvent.VK_LEFT:
             case KeyEvent.VK_A:
-                gameController.setDirection(Direction.LEFT);
+                steer(Direction.LEFT);
                 break;
 
             case KeyEvent.VK_RIGHT:
             case KeyEvent.VK_D:
-                gameController.setDirection(Direction.RIGHT);
+                steer(Direction.RIGHT);
                 break;
 
             case KeyEvent.VK_UP:
             case KeyEvent.VK_W:
-                gameController.setDirection(Direction.UP);
+                steer(Direction.UP);
                 break;
 
             case KeyEvent.VK_DOWN:
             case KeyEvent.VK_S:
-                gameController.setDirection(Direction.DOWN);
+                steer(Direction.DOWN);
                 break;
 
             case KeyEvent.VK_SPACE:
@@ -95,6 +116,30 @@ public class GameKeyListener extends KeyAdapter {
                 }
                 break;
 
+            case KeyEvent.VK_P:
+                if (gamePanel != null) {
+                    gamePanel.toggleAutopilot();
+                }
+                break;
+
+            case KeyEvent.VK_R:
+                if (gamePanel != null) {
+                    gamePanel.startRewind();
+                }
+                break;
+
+            case KeyEvent.VK_F3:
+                if (gamePanel != null) {
+                    gamePanel.toggleMetrics();
+                }
+                break;
+
+            case KeyEvent.VK_F12:
+                if (gamePanel != null) {
+                    gamePanel.exportMetrics();
+                }
+                break;
+
             case KeyEvent.VK_1:
                 gamePanel.setGameSpeed(300);
                 break;
@@ -110,11 +155,18 @@ public class GameKeyListener extends KeyAdapter {
         }
     }
 
+    private void steer(Direction direction) {
+        gameController.setDirection(direction);
+        if (gamePanel != null) {
+            gamePanel.noteInput(pressedNanos, pressedWhen);
+        }
+    }
+
     private void performLogout() {
         if (gamePanel != null && gamePanel.getTopLevelAncestor() != null) {
             java.awt.Window window = SwingUtilities.getWindowAncestor(gamePanel);
             if (window != null && window instanceof javax.swing.JFrame) {
-                System.out.println("ESC pressed - Logout requested");
+                LOG.info("ESC pressed - Logout requested");
 
                 gamePanel.cleanUp();
 
@@ -129,7 +129,11 @@ public class GameMenu extends JMenuBar {
                 "• SPACE: Pause/Resume Game<br>" +
                 "• ESC: Logout / Exit Menu<br>" +
                 "• SPACE (Game Over): Restart<br>" +
-                "• G: Toggle Grid Display<br><br>" +
+                "• G: Toggle Grid Display<br>" +
+                "• P: Toggle Autopilot<br>" +
+                "• R (hold): Rewind up to the last 5 seconds<br>" +
+                "• F3: Show/Hide Latency Metrics<br>" +
+                "• F12: Export Latency Metrics to CSV<br><br>" +
 
                 "<p><b style='color: " + toHex(Color.BLACK) + ";'>Shortcuts:</b></p>" +
                 "• F2: Restart Game<br>" +
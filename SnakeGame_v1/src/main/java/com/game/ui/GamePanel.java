@@ -1,16 +1,27 @@
 package com.game.ui;
 
+import com.game.bot.PathfindingBot;
+import com.game.bot.SnakeBot;
 import com.game.data.PlayerData;
+import com.game.log.Log;
 import com.game.logic.*;
+import com.game.metrics.FlightEvents;
+import com.game.metrics.Histogram;
+import com.game.metrics.InputLatencyLog;
+import com.game.metrics.MetricsRegistry;
+import com.game.metrics.RenderEvent;
+import com.game.metrics.TickEvent;
 import com.game.utils.*;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GamePanel extends JPanel implements ActionListener {
+    private static final Log LOG = Log.get(GamePanel.class);
     private GameController gameController;
     private javax.swing.Timer gameTimer;
     private static final int DEFAULT_DELAY = 200;
@@ -19,12 +30,66 @@ public class GamePanel extends JPanel implements ActionListener {
     private long lastToggleTime = 0;
     private static final long TOGGLE_COOLDOWN = 200;
 
-    private SpecialFood specialFood;
-    private java.util.Timer specialFoodSpawnTimer;
-    private java.util.Timer specialFoodExistenceTimer;
-    private boolean specialFoodVisible = false;
     private AtomicBoolean isGamePaused = new AtomicBoolean(false);
 
+    private SnakeBot autopilot;
+    private boolean autopilotEnabled = false;
+    // Search buffers grow with the board, so the bot is limited to boards up to this size
+    private static final int MAX_AUTOPILOT_CELLS = 1 << 22;
+
+    // Rewinding steps the game back one tick per timer tick while the key is held
+    private static final int REWIND_MILLIS = 5000;
+    private RewindHistory rewindHistory;
+    private boolean rewinding = false;
+
+    // Latency metrics, all recorded on the event dispatch thread
+    private static final String METRICS_FILE = "metrics.csv";
+    private static final String INPUT_LATENCY_FILE = "input-latency.csv";
+    private final Histogram updateTime = MetricsRegistry.getDefault().histogram(MetricsRegistry.TICK_UPDATE);
+    private final Histogram paintTime = MetricsRegistry.getDefault().histogram(MetricsRegistry.FRAME_PAINT);
+    private final Histogram inputLatency = MetricsRegistry.getDefault().histogram(MetricsRegistry.INPUT_LATENCY);
+    private final Histogram tickJitter = MetricsRegistry.getDefault().histogram(MetricsRegistry.TICK_JITTER);
+    private final Histogram inputDispatch = MetricsRegistry.getDefault().histogram(MetricsRegistry.INPUT_DISPATCH);
+    private final Histogram inputPaint = MetricsRegistry.getDefault().histogram(MetricsRegistry.INPUT_PAINT);
+    private final Histogram inputPhoton = MetricsRegistry.getDefault().histogram(MetricsRegistry.INPUT_PHOTON);
+    private final InputLatencyLog inputLog = new InputLatencyLog(4096);
+    // Time of the previous tick, 0 after the timer (re)starts
+    private long lastTickNanos;
+    // Oldest key press not yet applied by a tick: when the listener saw it
+    // (0 if none) and how long it waited in the event queue before that
+    private long pendingInputNanos;
+    private long pendingDispatchNanos;
+    // Oldest key press applied by a tick but not yet painted, 0 if none
+    private long appliedInputNanos;
+    private long appliedDispatchNanos;
+    private long appliedTickNanos;
+    private boolean showMetrics = false;
+
+    // Render quality steps down when most of the last QUALITY_HOLD_FRAMES
+    // frames were over budget, so a single GC or JIT spike does not count,
+    // and back up when most were under half the budget and a cool-down has
+    // passed since the last change. A step up that is dropped again within
+    // the cool-down doubles it, so quality does not flip back and forth.
+    private static final long MAX_FRAME_BUDGET_NANOS = 16_000_000L;
+    private static final int QUALITY_HOLD_FRAMES = 8;
+    private static final int QUALITY_VOTES = 6;
+    private static final long QUALITY_COOLDOWN_NANOS = 2_000_000_000L;
+    private static final long MAX_QUALITY_COOLDOWN_NANOS = 64_000_000_000L;
+    private RenderQuality renderQuality = RenderQuality.FULL;
+    private boolean adaptiveQuality = true;
+    // One bit per recent frame, newest in bit 0
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+    private int framesAtQuality;
+    private long qualityChangedNanos = System.nanoTime();
+    private long qualityCooldownNanos = QUALITY_COOLDOWN_NANOS;
+    private boolean steppedUp;
+    private long lastFrameNanos;
+
+    // Top-left corner of the visible part of the board, in board pixels
+    private int cameraX;
+    private int cameraY;
+
     public GamePanel() {
         this(null, null);
     }
@@ -41,28 +106,22 @@ public class GamePanel extends JPanel implements ActionListener {
         }
 
         initPanel();
-        initSpecialFood();
-    }
-
-    private void initSpecialFood() {
-        int unitSize = gameController.getUnitSize();
-        specialFood = new SpecialFood(unitSize, isGamePaused, 800, 600, () -> gameController.getSnake().getBody());
     }
 
     public long getSpecialFoodRemainingTime() {
-        return specialFood.getRemainingTime();
+        return gameController.getSpecialFood().getRemainingTime();
     }
 
     public void toggleGrid() {
         this.showGrid = !this.showGrid;
         repaint();
-        System.out.println("Grid toggled to: " + showGrid);
+        LOG.debug("Grid toggled to: {}", showGrid);
     }
 
     public void setGridVisible(boolean visible) {
         this.showGrid = visible;
         repaint();
-        System.out.println("Grid visibility set to: " + visible);
+        LOG.debug("Grid visibility set to: {}", visible);
     }
 
     public void setShowGrid(boolean showGrid) {
@@ -73,6 +132,63 @@ public class GamePanel extends JPanel implements ActionListener {
         return showGrid;
     }
 
+    public void toggleAutopilot() {
+        if (gameController.getCellCount() > MAX_AUTOPILOT_CELLS) {
+            LOG.info("Autopilot unavailable on boards over {} cells", MAX_AUTOPILOT_CELLS);
+            return;
+        }
+        if (autopilot == null) {
+            autopilot = new PathfindingBot(gameController.getBoardWidth(), gameController.getBoardHeight(),
+                    gameController.getUnitSize());
+        }
+        autopilotEnabled = !autopilotEnabled;
+        repaint();
+        LOG.debug("Autopilot toggled to: {}", autopilotEnabled);
+    }
+
+    public boolean isAutopilotEnabled() {
+        return autopilotEnabled;
+    }
+
+    public void toggleMetrics() {
+        showMetrics = !showMetrics;
+        repaint();
+        LOG.debug("Metrics overlay toggled to: {}", showMetrics);
+    }
+
+    /**
+     * Write the current metrics percentiles to METRICS_FILE and the latest
+     * input-to-photon samples to INPUT_LATENCY_FILE
+     */
+    public void exportMetrics() {
+        try {
+            MetricsRegistry.getDefault().exportCsv(METRICS_FILE);
+            inputLog.writeCsv(INPUT_LATENCY_FILE);
+            LOG.info("Metrics exported to {} and {}", METRICS_FILE, INPUT_LATENCY_FILE);
+        } catch (IOException e) {
+            LOG.warn("Error exporting metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Note that the player pressed a steering key, so the tick that applies
+     * it and the first paint after that can report how long it took.
+     * The time is split into the wait for the key listener (event queue),
+     * the wait for the tick (timer scheduling and tick quantization) and the
+     * wait for the paint (repaint coalescing and paint time).
+     *
+     * @param pressedNanos    System.nanoTime when the key listener was called
+     * @param eventWhenMillis KeyEvent.getWhen of the press
+     */
+    public void noteInput(long pressedNanos, long eventWhenMillis) {
+        long dispatchNanos = Math.max(0, System.currentTimeMillis() - eventWhenMillis) * 1_000_000L;
+        inputDispatch.record(dispatchNanos);
+        if (pendingInputNanos == 0) {
+            pendingInputNanos = pressedNanos;
+            pendingDispatchNanos = dispatchNanos;
+        }
+    }
+
     private void initPanel() {
         setPreferredSize(new Dimension(GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT));
         setBackground(UITheme.COLOR_BACKGROUND);
@@ -90,42 +206,97 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     public void setGameSpeed(int delay) {
-        if (gameTimer != null) {
-            gameTimer.stop();
-        }
-        gameTimer = new javax.swing.Timer(delay, this);
-        gameTimer.start();
-        System.out.println("Set Game Speed to: " + delay + "ms");
+        restartTimer(delay);
+        gameController.setTickMillis(delay);
+        resetRewindHistory(delay);
+        LOG.debug("Set Game Speed to: {}ms", delay);
         repaint();
     }
 
     public void startGame() {
-        if (gameTimer != null && gameTimer.isRunning()) {
+        isGamePaused.set(false);
+        restartTimer(DEFAULT_DELAY);
+        gameController.setTickMillis(DEFAULT_DELAY);
+        gameController.setGameState(GameState.RUNNING);
+        resetRewindHistory(DEFAULT_DELAY);
+        // A new game starts with the shortest cool-down again
+        qualityCooldownNanos = QUALITY_COOLDOWN_NANOS;
+    }
+
+    /**
+     * Run the game timer at the given delay. The panel keeps a single timer
+     * for its whole life, so restarts and speed changes never leave a
+     * running timer behind; a paused game keeps it stopped.
+     *
+     * @param delay Time per tick in milliseconds
+     */
+    private void restartTimer(int delay) {
+        if (gameTimer == null) {
+            gameTimer = new javax.swing.Timer(delay, this);
+        } else {
             gameTimer.stop();
+            gameTimer.setDelay(delay);
+            gameTimer.setInitialDelay(delay);
         }
-        gameTimer = new javax.swing.Timer(DEFAULT_DELAY, this);
-        gameTimer.start();
-        gameController.setGameState(GameState.RUNNING);
-        isGamePaused.set(false);
+        if (!isGamePaused.get()) {
+            gameTimer.start();
+        }
+        lastTickNanos = 0;
+    }
+
+    /**
+     * Check whether the game timer is scheduled
+     *
+     * @return true if the timer is running
+     */
+    public boolean isTimerRunning() {
+        return gameTimer != null && gameTimer.isRunning();
+    }
+
+    /**
+     * Start remembering the last REWIND_MILLIS of play at the given speed
+     * 
+     * @param delay Time per tick in milliseconds
+     */
+    private void resetRewindHistory(int delay) {
+        rewinding = false;
+        rewindHistory = new RewindHistory(gameController, REWIND_MILLIS / delay);
+    }
+
+    /**
+     * Start rewinding, tick by tick at game speed, until stopRewind.
+     * A paused game steps back a single tick instead and stays paused,
+     * which helps to look at what led up to a collision.
+     */
+    public void startRewind() {
+        if (isGamePaused.get()) {
+            stepBack();
+            return;
+        }
+        rewinding = true;
     }
 
-    public void restartGame() {
-        gameController.resetGame();
+    public void stopRewind() {
+        rewinding = false;
+        repaint();
+    }
 
-        specialFoodVisible = false;
-        specialFood.setPosition(null);
-        isGamePaused.set(false);
+    public boolean isRewinding() {
+        return rewinding;
+    }
 
-        if (specialFoodExistenceTimer != null) {
-            specialFoodExistenceTimer.cancel();
-            specialFoodExistenceTimer.purge();
-            specialFoodExistenceTimer = null;
-        }
-        if (specialFoodSpawnTimer != null) {
-            specialFoodSpawnTimer.cancel();
-            specialFoodSpawnTimer.purge();
-            specialFoodSpawnTimer = null;
+    private void stepBack() {
+        boolean paused = isGamePaused.get();
+        if (rewindHistory.stepBack()) {
+            if (paused) {
+                gameController.setGameState(GameState.PAUSED);
+            }
+            repaint();
         }
+    }
+
+    public void restartGame() {
+        gameController.resetGame();
 
         startGame();
         requestFocusInWindow();
@@ -158,7 +329,7 @@ public class GamePanel extends JPanel implements ActionListener {
                 javax.swing.KeyStroke ks = item.getAccelerator();
                 if (ks.getKeyCode() == java.awt.event.KeyEvent.VK_SPACE) {
                     item.setAccelerator(null);
-                    System.out.println("Disabled SPACE shortcut for menu item: " + item.getText());
+                    LOG.debug("Disabled SPACE shortcut for menu item: {}", item.getText());
                 }
             }
         }
@@ -167,32 +338,31 @@ public class GamePanel extends JPanel implements ActionListener {
     public void togglePause() {
         long currentTime = System.currentTimeMillis();
         if (currentTime - lastToggleTime < TOGGLE_COOLDOWN) {
-            System.out.println("Toggle pause ignored - too fast");
+            LOG.debug("Toggle pause ignored - too fast");
             return;
         }
         lastToggleTime = currentTime;
 
         GameState currentState = gameController.getGameState();
-        System.out.println("togglePause called. Current state: " + currentState);
+        LOG.debug("togglePause called. Current state: {}", currentState);
 
         if (currentState == GameState.RUNNING) {
             isGamePaused.set(true);
             gameController.setGameState(GameState.PAUSED);
             if (gameTimer != null) {
                 gameTimer.stop();
-                System.out.println("Game paused. Timer stopped.");
+                LOG.debug("Game paused. Timer stopped.");
             }
         } else if (currentState == GameState.PAUSED) {
             gameController.setGameState(GameState.RUNNING);
             if (gameTimer != null) {
                 gameTimer.start();
-                System.out.println("Game resumed. Timer started.");
+                lastTickNanos = 0;
+                LOG.debug("Game resumed. Timer started.");
             }
             isGamePaused.set(false);
-            specialFood.resumeTimers();
-            specialFood.startSpawnCooldown();
         } else {
-            System.out.println("Cannot toggle pause in state: " + currentState);
+            LOG.debug("Cannot toggle pause in state: {}", currentState);
         }
         repaint();
     }
@@ -226,26 +396,172 @@ public class GamePanel extends JPanel implements ActionListener {
         if (isGamePaused.get()) {
             return;
         }
-        gameController.update();
-        checkSpecialFoodCollision();
-        repaint();
+        TickEvent event = FlightEvents.isRecording() ? TickEvent.start() : null;
+        tick();
+        if (event != null) {
+            event.complete(gameController.getSnake().getLength(), gameController.getScore(),
+                    gameTimer.getDelay(), rewinding);
+        }
     }
 
-    private void checkSpecialFoodCollision() {
-        if (!isGamePaused.get() && gameController.getSnake() != null) {
-            Point snakeHead = gameController.getSnake().getHead();
-            if (CollisionDetector.isSpecialFoodEaten(snakeHead, specialFood)) {
-                gameController.addScore(specialFood.getScore());
-                System.out.println("Eat SpecialFood! + 100 points");
-                specialFood.disappear();
+    private void tick() {
+        long tickStart = System.nanoTime();
+        if (lastTickNanos != 0) {
+            tickJitter.record(Math.abs(tickStart - lastTickNanos - gameTimer.getDelay() * 1_000_000L));
+        }
+        lastTickNanos = tickStart;
+
+        if (rewinding) {
+            stepBack();
+            return;
+        }
+        boolean running = gameController.getGameState() == GameState.RUNNING;
+        if (autopilotEnabled && running) {
+            gameController.setDirection(autopilot.nextDirection(gameController));
+        }
+        long updateStart = System.nanoTime();
+        gameController.update();
+        long updateEnd = System.nanoTime();
+        if (running) {
+            updateTime.record(updateEnd - updateStart);
+            rewindHistory.record();
+        }
+        if (pendingInputNanos != 0) {
+            inputLatency.record(updateEnd - pendingInputNanos);
+            // If two ticks run before a paint, the older press is the one to measure
+            if (appliedInputNanos == 0) {
+                appliedInputNanos = pendingInputNanos;
+                appliedDispatchNanos = pendingDispatchNanos;
+                appliedTickNanos = updateEnd;
             }
+            pendingInputNanos = 0;
         }
+        repaint();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        RenderEvent event = FlightEvents.isRecording() ? RenderEvent.start() : null;
+        long start = System.nanoTime();
         super.paintComponent(g);
+        RenderQuality quality = renderQuality;
         drawGame(g);
+        long frameNanos = System.nanoTime() - start;
+        paintTime.record(frameNanos);
+        if (event != null) {
+            Rectangle clip = g.getClipBounds();
+            event.complete(gameController.getSnake().getLength(),
+                    clip == null ? 0 : clip.width, clip == null ? 0 : clip.height, quality.name());
+        }
+        if (adaptiveQuality) {
+            adaptQuality(frameNanos);
+        }
+        if (showMetrics) {
+            drawMetricsOverlay(g);
+        }
+        if (appliedInputNanos != 0) {
+            notePaintedInput(System.nanoTime());
+        }
+    }
+
+    /**
+     * Time a frame may take: at most MAX_FRAME_BUDGET_NANOS, and at most half
+     * a tick so that painting never makes ticks slip
+     *
+     * @return Budget in nanoseconds
+     */
+    private long frameBudgetNanos() {
+        return Math.min(MAX_FRAME_BUDGET_NANOS, gameTimer.getDelay() * 500_000L);
+    }
+
+    /**
+     * Note whether a frame was over budget or well under it, and step the
+     * render quality down or up when most of the recent frames agree
+     *
+     * @param frameNanos Time the frame took to paint
+     */
+    private void adaptQuality(long frameNanos) {
+        lastFrameNanos = frameNanos;
+        long budget = frameBudgetNanos();
+        int window = (1 << QUALITY_HOLD_FRAMES) - 1;
+        overBudgetFrames = (overBudgetFrames << 1 | (frameNanos > budget ? 1 : 0)) & window;
+        underBudgetFrames = (underBudgetFrames << 1 | (frameNanos < budget / 2 ? 1 : 0)) & window;
+        if (++framesAtQuality < QUALITY_HOLD_FRAMES) {
+            return;
+        }
+
+        RenderQuality[] levels = RenderQuality.values();
+        int level = renderQuality.ordinal();
+        long now = System.nanoTime();
+        boolean coolingDown = now - qualityChangedNanos < qualityCooldownNanos;
+        if (Integer.bitCount(overBudgetFrames) >= QUALITY_VOTES && level < levels.length - 1) {
+            // A step up that did not last makes the next try wait longer
+            qualityCooldownNanos = steppedUp && coolingDown
+                    ? Math.min(2 * qualityCooldownNanos, MAX_QUALITY_COOLDOWN_NANOS) : QUALITY_COOLDOWN_NANOS;
+            steppedUp = false;
+            changeQuality(levels[level + 1]);
+        } else if (Integer.bitCount(underBudgetFrames) >= QUALITY_VOTES && level > 0 && !coolingDown) {
+            steppedUp = true;
+            changeQuality(levels[level - 1]);
+        }
+    }
+
+    private void changeQuality(RenderQuality quality) {
+        LOG.debug("Render quality {} -> {}", renderQuality, quality);
+        renderQuality = quality;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+        framesAtQuality = 0;
+        qualityChangedNanos = System.nanoTime();
+        repaint();
+    }
+
+    /**
+     * Draw at a fixed quality from now on, or go back to adapting it
+     *
+     * @param quality Quality to keep, or null to adapt to the frame budget again
+     */
+    public void setRenderQuality(RenderQuality quality) {
+        adaptiveQuality = quality == null;
+        changeQuality(quality == null ? RenderQuality.FULL : quality);
+    }
+
+    public RenderQuality getRenderQuality() {
+        return renderQuality;
+    }
+
+    /**
+     * Record the latency of the key press whose tick has just been painted
+     *
+     * @param paintEnd System.nanoTime at the end of the paint
+     */
+    private void notePaintedInput(long paintEnd) {
+        long tickNanos = appliedTickNanos - appliedInputNanos;
+        long paintNanos = paintEnd - appliedTickNanos;
+        inputPaint.record(paintNanos);
+        inputPhoton.record(appliedDispatchNanos + tickNanos + paintNanos);
+        inputLog.record(appliedInputNanos, appliedDispatchNanos, tickNanos, paintNanos, gameTimer.getDelay());
+        long dispatchNanos = appliedDispatchNanos;
+        LOG.debug(() -> "Input to photon: " + (dispatchNanos + tickNanos + paintNanos) / 1000
+                + "us (queue " + dispatchNanos / 1000 + "us, tick " + tickNanos / 1000
+                + "us, paint " + paintNanos / 1000 + "us)");
+        appliedInputNanos = 0;
+    }
+
+    private void drawMetricsOverlay(Graphics g) {
+        java.util.List<Histogram> histograms = MetricsRegistry.getDefault().getHistograms();
+        g.setColor(UITheme.COLOR_OVERLAY);
+        g.fillRect(10, 40, 330, 25 + histograms.size() * 15);
+        g.setColor(UITheme.COLOR_INFO);
+        g.setFont(UITheme.FONT_SHORTCUT_HINT);
+        g.drawString("render " + renderQuality + (adaptiveQuality ? "" : " (fixed)")
+                + String.format(java.util.Locale.ROOT, " last=%.1fms budget=%.1fms",
+                        lastFrameNanos / 1e6, frameBudgetNanos() / 1e6), 15, 55);
+        int y = 70;
+        for (Histogram histogram : histograms) {
+            g.drawString(MetricsRegistry.summary(histogram), 15, y);
+            y += 15;
+        }
     }
 
     private void drawGame(Graphics g) {
@@ -266,29 +582,69 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     private void drawGameElements(Graphics g) {
-        drawFood(g);
-        drawSnake(g);
-        drawSpecialFood(g);
+        updateCamera();
+
+        // Board elements are drawn in board coordinates, shifted by the camera
+        Graphics world = g.create();
+        world.translate(-cameraX, -cameraY);
+        drawFood(world);
+        drawSnake(world);
+        drawSpecialFood(world);
+        world.dispose();
+    }
+
+    /**
+     * Center the camera on the snake's head, clamped to the board edges.
+     * Boards no larger than the panel are drawn without scrolling.
+     */
+    private void updateCamera() {
+        Snake snake = gameController.getSnake();
+        int unitSize = gameController.getUnitSize();
+        int head = snake.getHeadCell();
+        int headX = (head % snake.getCols()) * unitSize;
+        int headY = (head / snake.getCols()) * unitSize;
+
+        cameraX = cameraOffset(headX, gameController.getBoardWidth(), GameConstants.GAME_WIDTH, unitSize);
+        cameraY = cameraOffset(headY, gameController.getBoardHeight(), GameConstants.GAME_HEIGHT, unitSize);
+    }
+
+    private static int cameraOffset(int head, int boardSize, int viewSize, int unitSize) {
+        if (boardSize <= viewSize) {
+            return 0;
+        }
+        int offset = head + unitSize / 2 - viewSize / 2;
+        return Math.max(0, Math.min(offset, boardSize - viewSize));
     }
 
     private void drawFood(Graphics g) {
         Food food = gameController.getFood();
-        if (food != null) {
+        if (food != null && isInView(food.getPosition())) {
             food.draw(g, gameController.getUnitSize());
         }
     }
 
     private void drawSpecialFood(Graphics g) {
-        specialFood.draw(g, gameController.getUnitSize());
+        SpecialFood specialFood = gameController.getSpecialFood();
+        if (isInView(specialFood.getPosition())) {
+            specialFood.draw(g, gameController.getUnitSize());
+        }
     }
 
     private void drawSnake(Graphics g) {
         Snake snake = gameController.getSnake();
         if (snake != null) {
-            snake.draw(g, gameController.getUnitSize());
+            snake.draw(g, gameController.getUnitSize(), cameraX, cameraY,
+                    GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT, renderQuality);
         }
     }
 
+    private boolean isInView(Point position) {
+        int unitSize = gameController.getUnitSize();
+        return position != null
+                && position.x + unitSize > cameraX && position.x < cameraX + GameConstants.GAME_WIDTH
+                && position.y + unitSize > cameraY && position.y < cameraY + GameConstants.GAME_HEIGHT;
+    }
+
     private void drawUI(Graphics g) {
         drawGrid(g);
         drawScorePanel(g);
@@ -298,13 +654,16 @@ public class GamePanel extends JPanel implements ActionListener {
 
     private void drawGrid(Graphics g) {
         if (showGrid) {
-            g.setColor(UITheme.COLOR_GRID);
+            g.setColor(renderQuality == RenderQuality.FULL ? UITheme.COLOR_GRID : UITheme.COLOR_GRID_OPAQUE);
             int unitSize = gameController.getUnitSize();
-            for (int x = 0; x < GameConstants.GAME_WIDTH; x += unitSize) {
-                g.drawLine(x, 0, x, GameConstants.GAME_HEIGHT);
+            // Lines stay aligned to board cells and stop at the board edge
+            int right = Math.min(GameConstants.GAME_WIDTH, gameController.getBoardWidth() - cameraX);
+            int bottom = Math.min(GameConstants.GAME_HEIGHT, gameController.getBoardHeight() - cameraY);
+            for (int x = (unitSize - cameraX % unitSize) % unitSize; x < right; x += unitSize) {
+                g.drawLine(x, 0, x, bottom);
             }
-            for (int y = 0; y < GameConstants.GAME_HEIGHT; y += unitSize) {
-                g.drawLine(0, y, GameConstants.GAME_WIDTH, y);
+            for (int y = (unitSize - cameraY % unitSize) % unitSize; y < bottom; y += unitSize) {
+                g.drawLine(0, y, right, y);
             }
         }
     }
@@ -320,7 +679,17 @@ public class GamePanel extends JPanel implements ActionListener {
         if (!showGrid) {
             g.setColor(UITheme.COLOR_GRID_OFF_HINT);
             g.setFont(UITheme.FONT_GRID_STATUS);
-            g.drawString("Grid: OFF", GameConstants.GAME_WIDTH - 80, GameConstants.GAME_HEIGHT - 10);
+            g.drawString("Grid: OFF", getWidth() - 80, getHeight() - 10);
+        }
+        if (autopilotEnabled) {
+            g.setColor(UITheme.COLOR_HIGHLIGHT);
+            g.setFont(UITheme.FONT_GRID_STATUS);
+            g.drawString("AUTOPILOT", getWidth() - 80, 30);
+        }
+        if (rewinding) {
+            g.setColor(UITheme.COLOR_HIGHLIGHT);
+            g.setFont(UITheme.FONT_GRID_STATUS);
+            g.drawString("REWIND " + rewindHistory.getAvailable(), getWidth() - 80, 45);
         }
     }
 
@@ -329,90 +698,91 @@ public class GamePanel extends JPanel implements ActionListener {
         g.setFont(UITheme.FONT_SHORTCUT_HINT);
 
         String controlHint1 = "SPACE: Pause";
-        g.drawString(controlHint1, 15, GameConstants.GAME_HEIGHT - 85);
+        g.drawString(controlHint1, 15, getHeight() - 85);
         String controlHint2 = "F2: Restart";
-        g.drawString(controlHint2, 15, GameConstants.GAME_HEIGHT - 70);
+        g.drawString(controlHint2, 15, getHeight() - 70);
         String controlHint3 = "ESC: Logout";
-        g.drawString(controlHint3, 15, GameConstants.GAME_HEIGHT - 55);
+        g.drawString(controlHint3, 15, getHeight() - 55);
         String controlHint4 = "WASD/Arrows: Move";
-        g.drawString(controlHint4, 15, GameConstants.GAME_HEIGHT - 40);
-        String controlHint5 = "G: Toggle Grid";
-        g.drawString(controlHint5, 15, GameConstants.GAME_HEIGHT - 25);
+        g.drawString(controlHint4, 15, getHeight() - 40);
+        String controlHint5 = "G: Grid, P: Autopilot, R: Rewind";
+        g.drawString(controlHint5, 15, getHeight() - 25);
         String shortcutHint = "1-4: Speed (1-Slow, 4-Fast)";
-        g.drawString(shortcutHint, 15, GameConstants.GAME_HEIGHT - 10);
+        g.drawString(shortcutHint, 15, getHeight() - 10);
 
-        if (!specialFoodVisible) {
-            String specialFoodHint = "SpecialFood appear every 20 seconds. ";
-            g.drawString(specialFoodHint, GameConstants.GAME_WIDTH - 200, GameConstants.GAME_HEIGHT - 25);
+        if (!gameController.getSpecialFood().isVisible()) {
+            String specialFoodHint = "SpecialFood appear every "
+                    + gameController.getSpecialFood().getSpawnCooldownMs() / 1000 + " seconds. ";
+            g.drawString(specialFoodHint, getWidth() - 200, getHeight() - 25);
         }
     }
 
     private void drawPauseOverlay(Graphics g) {
         g.setColor(UITheme.COLOR_OVERLAY);
-        g.fillRect(0, 0, GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT);
+        g.fillRect(0, 0, getWidth(), getHeight());
 
         g.setColor(UITheme.COLOR_HIGHLIGHT);
         g.setFont(UITheme.FONT_PAUSE);
         FontMetrics metrics = getFontMetrics(g.getFont());
         String pauseText = "PAUSED";
         g.drawString(pauseText,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(pauseText)) / 2,
-                GameConstants.GAME_HEIGHT / 2 - 50);
+                (getWidth() - metrics.stringWidth(pauseText)) / 2,
+                getHeight() / 2 - 50);
 
         g.setColor(UITheme.COLOR_TEXT);
         g.setFont(UITheme.FONT_CONTINUE);
         metrics = getFontMetrics(g.getFont());
         String continueText = "Press SPACE to continue";
         g.drawString(continueText,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(continueText)) / 2,
-                GameConstants.GAME_HEIGHT / 2 + 20);
+                (getWidth() - metrics.stringWidth(continueText)) / 2,
+                getHeight() / 2 + 20);
 
         String logoutText = "Press ESC to logout";
         g.drawString(logoutText,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(logoutText)) / 2,
-                GameConstants.GAME_HEIGHT / 2 + 50);
+                (getWidth() - metrics.stringWidth(logoutText)) / 2,
+                getHeight() / 2 + 50);
 
         String speedHint = "Speed: 1-Slow, 4-Fast";
         g.drawString(speedHint,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(speedHint)) / 2,
-                GameConstants.GAME_HEIGHT / 2 + 80);
+                (getWidth() - metrics.stringWidth(speedHint)) / 2,
+                getHeight() / 2 + 80);
 
         g.setFont(UITheme.FONT_GRID_STATUS_SMALL);
         String gridStatus = "Grid: " + (showGrid ? "ON" : "OFF");
         metrics = getFontMetrics(g.getFont());
         g.drawString(gridStatus,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(gridStatus)) / 2,
-                GameConstants.GAME_HEIGHT / 2 + 110);
+                (getWidth() - metrics.stringWidth(gridStatus)) / 2,
+                getHeight() / 2 + 110);
 
-        if (specialFoodVisible) {
+        if (gameController.getSpecialFood().isVisible()) {
             long remainingSeconds = getSpecialFoodRemainingTime() / 1000;
             String specialFoodStatus = "SpecialFood: " + remainingSeconds + " seconds remaining";
             metrics = getFontMetrics(g.getFont());
             g.drawString(specialFoodStatus,
-                    (GameConstants.GAME_WIDTH - metrics.stringWidth(specialFoodStatus)) / 2,
-                    GameConstants.GAME_HEIGHT / 2 + 140);
+                    (getWidth() - metrics.stringWidth(specialFoodStatus)) / 2,
+                    getHeight() / 2 + 140);
         }
     }
 
     private void drawGameOverScreen(Graphics g) {
         g.setColor(UITheme.COLOR_OVERLAY_DARK);
-        g.fillRect(0, 0, GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT);
+        g.fillRect(0, 0, getWidth(), getHeight());
 
         g.setColor(UITheme.COLOR_WARNING);
         g.setFont(UITheme.FONT_GAME_OVER);
         FontMetrics metrics = getFontMetrics(g.getFont());
         String gameOverText = "GAME OVER";
         g.drawString(gameOverText,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(gameOverText)) / 2,
-                GameConstants.GAME_HEIGHT / 2 - 80);
+                (getWidth() - metrics.stringWidth(gameOverText)) / 2,
+                getHeight() / 2 - 80);
 
         g.setColor(UITheme.COLOR_TEXT);
         g.setFont(UITheme.FONT_FINAL_SCORE);
         metrics = getFontMetrics(g.getFont());
         String scoreText = "Final Score: " + gameController.getScore();
         g.drawString(scoreText,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(scoreText)) / 2,
-                GameConstants.GAME_HEIGHT / 2 - 10);
+                (getWidth() - metrics.stringWidth(scoreText)) / 2,
+                getHeight() / 2 - 10);
 
         boolean isNewHighScore = gameController.getScore() > gameController.getHighScore();
         if (isNewHighScore) {
@@ -420,8 +790,8 @@ public class GamePanel extends JPanel implements ActionListener {
             String newHighScore = "NEW HIGH SCORE!";
             metrics = getFontMetrics(g.getFont());
             g.drawString(newHighScore,
-                    (GameConstants.GAME_WIDTH - metrics.stringWidth(newHighScore)) / 2,
-                    GameConstants.GAME_HEIGHT / 2 + 30);
+                    (getWidth() - metrics.stringWidth(newHighScore)) / 2,
+                    getHeight() / 2 + 30);
         }
 
         g.setColor(UITheme.COLOR_INFO);
@@ -429,28 +799,15 @@ public class GamePanel extends JPanel implements ActionListener {
         metrics = getFontMetrics(g.getFont());
         String restartText = "Press SPACE or F2 to restart";
         g.drawString(restartText,
-                (GameConstants.GAME_WIDTH - metrics.stringWidth(restartText)) / 2,
-                GameConstants.GAME_HEIGHT / 2 + 80);
+                (getWidth() - metrics.stringWidth(restartText)) / 2,
+                getHeight() / 2 + 80);
     }
 
     public void cleanUp() {
         isGamePaused.set(true);
 
-        if (specialFood != null) {
-            specialFood.cleanUp();
-        }
-
-        if (specialFoodExistenceTimer != null) {
-            specialFoodExistenceTimer.cancel();
-            specialFoodExistenceTimer.purge();
-            specialFoodExistenceTimer = null;
-        }
-
-        if (specialFoodSpawnTimer != null) {
-            specialFoodSpawnTimer.cancel();
-            specialFoodSpawnTimer.purge();
-            specialFoodSpawnTimer = null;
-        }
+        gameController.getSpecialFood().cleanUp();
+        rewinding = false;
 
         if (gameTimer != null) {
             gameTimer.stop();
@@ -2,6 +2,7 @@ package com.game.ui;
 
 import com.game.data.PlayerData;
 import com.game.logic.GameController;
+import com.game.utils.GameConstants;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,10 +15,19 @@ public class GameWindow {
     private GamePanel gamePanel;
     private PlayerData playerData;
     private GameController gameController;
+    private Timer uiTimer;
     private Runnable onWindowClosed;
+    private int boardWidth;
+    private int boardHeight;
 
     public GameWindow(PlayerData playerData, Runnable onWindowClosed) {
+        this(playerData, GameConstants.GAME_WIDTH, GameConstants.GAME_HEIGHT, onWindowClosed);
+    }
+
+    public GameWindow(PlayerData playerData, int boardWidth, int boardHeight, Runnable onWindowClosed) {
         this.playerData = playerData;
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
         this.onWindowClosed = onWindowClosed;
         createAndShowGUI();
     }
@@ -35,7 +45,7 @@ public class GameWindow {
         });
 
         gameUI = new GameUI();
-        gameController = new GameController(playerData);
+        gameController = new GameController(playerData, boardWidth, boardHeight);
         gamePanel = new GamePanel(gameController);
 
         Runnable logoutAction = () -> {
@@ -43,6 +53,9 @@ public class GameWindow {
                 gameController.checkAndUpdateHighScore();
             }
 
+            // Stop both timers first; a running timer keeps the closed window alive
+            uiTimer.stop();
+            gamePanel.cleanUp();
             frame.dispose();
 
             if (onWindowClosed != null) {
@@ -67,7 +80,7 @@ public class GameWindow {
     }
 
     private void setupUITimer() {
-        Timer uiTimer = new Timer(100, e -> updateGameUI());
+        uiTimer = new Timer(100, e -> updateGameUI());
         uiTimer.start();
     }
 
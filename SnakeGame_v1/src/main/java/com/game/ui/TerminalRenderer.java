@@ -0,0 +1,217 @@
+package com.game.ui;
+
+import com.game.logic.GameController;
+import com.game.logic.Snake;
+import com.game.logic.SpecialFood;
+import com.game.utils.GameState;
+import com.game.utils.UITheme;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws a game to a terminal with ANSI escapes, one board cell as two
+ * character cells with a 24-bit background colour. The colours of the
+ * cells on screen are kept, so each frame only moves the cursor to the
+ * cells that changed and repaints those; a tick usually costs a few dozen
+ * bytes however big the board is, which keeps play smooth over slow SSH
+ * links. The status line is likewise only rewritten when its text changes,
+ * and is cut to the terminal's width so it never wraps onto the board.
+ *
+ * Not thread-safe: render from the thread that owns the game.
+ */
+public class TerminalRenderer {
+    private static final String ESC = "\u001b[";
+    private static final int BACKGROUND = UITheme.COLOR_BACKGROUND.getRGB() & 0xFFFFFF;
+    private static final int HEAD = UITheme.COLOR_SNAKE_HEAD.getRGB() & 0xFFFFFF;
+    private static final int CRASHED_HEAD = UITheme.COLOR_WARNING.getRGB() & 0xFFFFFF;
+    private static final int FOOD = UITheme.COLOR_FOOD.getRGB() & 0xFFFFFF;
+    private static final int SPECIAL_FOOD = UITheme.COLOR_SPECIAL_FOOD.getRGB() & 0xFFFFFF;
+    // Never a packed RGB value, so every cell differs from it
+    private static final int UNKNOWN = -1;
+    // Board rows start below the status line
+    private static final int BOARD_TOP = 2;
+
+    private final OutputStream out;
+    private final int cols;
+    private final int rows;
+    private final int unitSize;
+    private final int columns;
+    // Colour of each cell on screen, and the colour it should have now
+    private final int[] shown;
+    private final int[] next;
+    private final StringBuilder frame = new StringBuilder(4096);
+    private byte[] bytes = new byte[4096];
+    private String shownStatus = "";
+    private int currentColour;
+    private long bytesWritten;
+
+    /**
+     * Create a renderer for a game's board
+     *
+     * @param game    Game to draw; its board size is fixed from now on
+     * @param out     Terminal output, written once per frame
+     * @param columns Terminal width in characters
+     */
+    public TerminalRenderer(GameController game, OutputStream out, int columns) {
+        this.out = out;
+        this.columns = columns;
+        this.unitSize = game.getUnitSize();
+        this.cols = game.getBoardWidth() / unitSize;
+        this.rows = game.getBoardHeight() / unitSize;
+        this.shown = new int[cols * rows];
+        this.next = new int[cols * rows];
+        invalidate();
+    }
+
+    /**
+     * Forget what is on screen, so the next frame clears it and draws everything
+     */
+    public void invalidate() {
+        Arrays.fill(shown, UNKNOWN);
+        shownStatus = null;
+    }
+
+    /**
+     * Draw the changes since the last frame
+     *
+     * @param game   Game to draw
+     * @param status Text for the status line above the board
+     * @throws IOException If the terminal cannot be written
+     */
+    public void render(GameController game, String status) throws IOException {
+        frame.setLength(0);
+        currentColour = UNKNOWN;
+        if (shownStatus == null) {
+            // Reset colours, clear the screen and hide the cursor
+            frame.append(ESC).append("0m").append(ESC).append("2J").append(ESC).append("?25l");
+            shownStatus = "";
+        }
+
+        layOut(game);
+        int cursor = UNKNOWN;
+        for (int cell = 0; cell < next.length; cell++) {
+            int colour = next[cell];
+            if (colour == shown[cell]) {
+                continue;
+            }
+            // Characters just written leave the cursor on the next cell of the row
+            if (cell != cursor) {
+                moveTo(BOARD_TOP + cell / cols, 1 + 2 * (cell % cols));
+            }
+            setBackground(colour);
+            frame.append("  ");
+            shown[cell] = colour;
+            cursor = cell % cols == cols - 1 ? UNKNOWN : cell + 1;
+        }
+
+        if (!status.equals(shownStatus)) {
+            moveTo(1, 1);
+            // Writing the last column makes some terminals wrap, so stop one short
+            int length = Math.min(status.length(), Math.max(0, columns - 1));
+            frame.append(ESC).append("0m").append(status, 0, length).append(ESC).append('K');
+            currentColour = UNKNOWN;
+            shownStatus = status;
+        }
+        if (frame.length() == 0) {
+            return;
+        }
+        // Park the cursor below the board, in the terminal's own colours
+        frame.append(ESC).append("0m");
+        moveTo(BOARD_TOP + rows, 1);
+        flush();
+    }
+
+    /**
+     * Restore the terminal's colours and cursor and move below the board
+     *
+     * @throws IOException If the terminal cannot be written
+     */
+    public void close() throws IOException {
+        frame.setLength(0);
+        frame.append(ESC).append("0m").append(ESC).append("?25h");
+        moveTo(BOARD_TOP + rows + 1, 1);
+        frame.append("\r\n");
+        flush();
+    }
+
+    /**
+     * Total bytes sent to the terminal, to see what a frame costs
+     *
+     * @return Bytes written since creation
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void layOut(GameController game) {
+        Arrays.fill(next, BACKGROUND);
+        Snake snake = game.getSnake();
+        int length = snake.getLength();
+        // Tail first, so the head wins where a collision puts two segments on one cell
+        for (int i = length - 1; i > 0; i--) {
+            next[snake.getCell(i)] = UITheme.snakeBodyRgb(i, length);
+        }
+        next[snake.getHeadCell()] = game.getGameState() == GameState.GAME_OVER ? CRASHED_HEAD : HEAD;
+
+        setFood(game.getFood().getPosition(), FOOD);
+        SpecialFood specialFood = game.getSpecialFood();
+        if (specialFood.isVisible()) {
+            setFood(specialFood.getPosition(), SPECIAL_FOOD);
+        }
+    }
+
+    private void setFood(Point position, int colour) {
+        if (position == null) {
+            return;
+        }
+        int x = position.x / unitSize;
+        int y = position.y / unitSize;
+        if (x >= 0 && x < cols && y >= 0 && y < rows) {
+            next[y * cols + x] = colour;
+        }
+    }
+
+    private void moveTo(int row, int column) {
+        frame.append(ESC).append(row).append(';').append(column).append('H');
+    }
+
+    private void setBackground(int rgb) {
+        if (rgb == currentColour) {
+            return;
+        }
+        frame.append(ESC).append("48;2;")
+                .append(rgb >> 16 & 0xFF).append(';')
+                .append(rgb >> 8 & 0xFF).append(';')
+                .append(rgb & 0xFF).append('m');
+        currentColour = rgb;
+    }
+
+    private void flush() throws IOException {
+        int length = frame.length();
+        boolean ascii = true;
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, 2 * bytes.length)];
+        }
+        for (int i = 0; i < length; i++) {
+            char c = frame.charAt(i);
+            if (c >= 0x80) {
+                ascii = false;
+                break;
+            }
+            bytes[i] = (byte) c;
+        }
+        if (ascii) {
+            out.write(bytes, 0, length);
+            bytesWritten += length;
+        } else {
+            byte[] encoded = frame.toString().getBytes(StandardCharsets.UTF_8);
+            out.write(encoded);
+            bytesWritten += encoded.length;
+        }
+        out.flush();
+    }
+}
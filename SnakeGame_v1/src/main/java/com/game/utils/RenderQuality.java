@@ -0,0 +1,15 @@
+package com.game.utils;
+
+/**
+ * How much detail the board is drawn with, from most to least expensive.
+ * GamePanel steps down when frames take longer than their budget and back
+ * up when there is headroom again.
+ */
+public enum RenderQuality {
+  /** Rounded segments with borders, eyes on the head, translucent grid */
+  FULL,
+  /** One plain square per segment, opaque grid */
+  FLAT,
+  /** One rectangle per straight run of segments and colour, opaque grid */
+  BATCHED;
+}
@@ -14,6 +14,8 @@ public class UITheme {
 
     // UI colors
     public static final Color COLOR_GRID = new Color(30, 30, 30, 100);
+    // COLOR_GRID as it looks over the background; opaque lines skip blending
+    public static final Color COLOR_GRID_OPAQUE = new Color(12, 12, 12);
     public static final Color COLOR_SCORE_PANEL = new Color(50, 50, 50, 200);
     public static final Color COLOR_HINT = new Color(200, 200, 200, 180);
     public static final Color COLOR_OVERLAY = new Color(0, 0, 0, 180);
@@ -62,9 +64,43 @@ public class UITheme {
     }
 
     public static Color createSnakeBodyColor(int index, int total) {
+        return new Color(snakeBodyRgb(index, total));
+    }
+
+    public static Color createSnakeBodyColor(Color head, int index, int total) {
+        return new Color(snakeBodyRgb(head, index, total));
+    }
+
+    /**
+     * Body colour of a segment as packed RGB, without creating a Color
+     *
+     * @param index Segment index, 0 at the head
+     * @param total Snake length
+     * @return 0xRRGGBB
+     */
+    public static int snakeBodyRgb(int index, int total) {
         float ratio = (float) index / total;
         int green = (int) (45 + 100 * ratio);
-        return new Color(0, green, 0);
+        return green << 8;
+    }
+
+    public static int snakeBodyRgb(Color head, int index, int total) {
+        float ratio = (float) index / total;
+        float shade = 0.3f + 0.4f * ratio;
+        return (int) (head.getRed() * shade) << 16 | (int) (head.getGreen() * shade) << 8
+                | (int) (head.getBlue() * shade);
+    }
+
+    /**
+     * Pick a distinct head colour for one snake in an arena.
+     * Hues are spread by the golden ratio so neighbouring indices differ.
+     */
+    public static Color createArenaSnakeColor(int index) {
+        if (index == 0) {
+            return COLOR_SNAKE_HEAD;
+        }
+        float hue = (0.33f + index * 0.618034f) % 1f;
+        return Color.getHSBColor(hue, 0.75f, 1f);
     }
 
     public static Font createFont(int style, int size) {